@@ -80,6 +80,33 @@ export class PaymentComponent implements OnInit {
   initiatePayment() {
     this.loading = true;
 
+    if (this.isOpenEvent) {
+      this.createOrder();
+      return;
+    }
+
+    // Charge the server's quote rather than the price shown on the seat map
+    this.http.get<any>(`${environment.apiUrl}/shows/${this.showId}/price-quote`, {
+      params: { seats: this.seatNumbers.join(',') }
+    }).subscribe({
+      next: (response) => {
+        if (response.success) {
+          this.totalAmount = response.data.totalAmount;
+          this.createOrder();
+        } else {
+          alert('Failed to price seats: ' + response.message);
+          this.loading = false;
+        }
+      },
+      error: (error) => {
+        console.error('Error pricing seats:', error);
+        alert('Failed to price seats');
+        this.loading = false;
+      }
+    });
+  }
+
+  createOrder() {
     const paymentRequest: any = {
       totalAmount: this.totalAmount,
       userId: localStorage.getItem('userId') || '1'
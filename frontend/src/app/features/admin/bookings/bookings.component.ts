@@ -82,6 +82,14 @@ import { environment } from '../../../../environments/environment';
               </tbody>
             </table>
           </div>
+          @if (nextCursor && !loading) {
+            <div class="p-4 text-center border-t border-white/5">
+              <button (click)="loadMore()" [disabled]="loadingMore"
+                class="px-6 py-2 rounded-lg bg-red-600 hover:bg-red-700 text-white text-sm font-semibold disabled:opacity-50">
+                {{ loadingMore ? 'Loading...' : 'Load more' }}
+              </button>
+            </div>
+          }
         </div>
       </div>
     </div>
@@ -90,6 +98,8 @@ import { environment } from '../../../../environments/environment';
 export class BookingsComponent implements OnInit {
   bookings: any[] = [];
   loading = true;
+  loadingMore = false;
+  nextCursor: string | null = null;
 
   constructor(private http: HttpClient) {}
 
@@ -99,20 +109,42 @@ export class BookingsComponent implements OnInit {
 
   loadBookings() {
     this.loading = true;
-    const token = localStorage.getItem('token');
-    const headers = { 'Authorization': `Bearer ${token}` };
-    
-    this.http.get<any>(`${environment.apiUrl}/admin/bookings`, { headers }).subscribe({
+    this.fetchPage(null).subscribe({
       next: (response) => {
         console.log('Admin bookings response:', response);
-        this.bookings = response.data || [];
+        this.bookings = response.data?.bookings || [];
+        this.nextCursor = response.data?.nextCursor || null;
         this.loading = false;
       },
       error: (err) => {
         console.error('Error loading admin bookings:', err);
         this.bookings = [];
+        this.nextCursor = null;
         this.loading = false;
       }
     });
   }
+
+  loadMore() {
+    if (!this.nextCursor) return;
+    this.loadingMore = true;
+    this.fetchPage(this.nextCursor).subscribe({
+      next: (response) => {
+        this.bookings = [...this.bookings, ...(response.data?.bookings || [])];
+        this.nextCursor = response.data?.nextCursor || null;
+        this.loadingMore = false;
+      },
+      error: (err) => {
+        console.error('Error loading more bookings:', err);
+        this.loadingMore = false;
+      }
+    });
+  }
+
+  private fetchPage(cursor: string | null) {
+    const token = localStorage.getItem('token');
+    const headers = { 'Authorization': `Bearer ${token}` };
+    const params: any = cursor ? { cursor } : {};
+    return this.http.get<any>(`${environment.apiUrl}/admin/bookings`, { headers, params });
+  }
 }
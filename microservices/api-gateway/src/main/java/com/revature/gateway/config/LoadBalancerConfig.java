@@ -0,0 +1,10 @@
+package com.revature.gateway.config;
+
+import com.revature.gateway.routing.ShowAffinityLoadBalancerConfig;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClient(name = "booking-service", configuration = ShowAffinityLoadBalancerConfig.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,85 @@
+package com.revature.gateway.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable consistent-hash ring with {@code virtualNodes} points per member.
+ */
+public final class ConsistentHashRing<T> {
+
+    private final long[] points;
+    private final Object[] owners;
+    private final Set<String> memberKeys;
+
+    private ConsistentHashRing(long[] points, Object[] owners, Set<String> memberKeys) {
+        this.points = points;
+        this.owners = owners;
+        this.memberKeys = memberKeys;
+    }
+
+    public static <T> ConsistentHashRing<T> of(Collection<T> members, Function<T, String> keyOf, int virtualNodes) {
+        TreeMap<Long, T> ring = new TreeMap<>();
+        Set<String> keys = new HashSet<>();
+        for (T member : members) {
+            String key = keyOf.apply(member);
+            if (!keys.add(key)) {
+                continue;
+            }
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                // On the rare collision the lower key wins, so every node builds the same ring
+                ring.merge(hash(key + "#" + replica), member,
+                    (existing, candidate) -> keyOf.apply(existing).compareTo(keyOf.apply(candidate)) <= 0 ? existing : candidate);
+            }
+        }
+
+        long[] points = new long[ring.size()];
+        Object[] owners = new Object[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, T> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i++] = point.getValue();
+        }
+        return new ConsistentHashRing<>(points, owners, keys);
+    }
+
+    /**
+     * The member owning {@code key}: the first point at or after its hash, wrapping around.
+     */
+    @SuppressWarnings("unchecked")
+    public T locate(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return (T) owners[i == points.length ? 0 : i];
+    }
+
+    public boolean hasMembers(Set<String> keys) {
+        return memberKeys.equals(keys);
+    }
+
+    // FNV-1a followed by the MurmurHash3 finalizer, so short numeric keys spread evenly
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
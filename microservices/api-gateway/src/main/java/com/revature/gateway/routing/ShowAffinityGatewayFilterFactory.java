@@ -0,0 +1,88 @@
+package com.revature.gateway.routing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Puts the show id of a booking-service request, taken from its path, hold id, queue
+ * token, query or JSON body, in the {@code X-Show-Id} header.
+ */
+@Component
+public class ShowAffinityGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    private static final Pattern[] SHOW_ID_PATHS = {
+        Pattern.compile("/show/(\\d+)(?:/|$)"),
+        Pattern.compile("/shows/(\\d+)(?:/|$)"),
+        Pattern.compile("^/api/seats/hold/(\\d+)-"),
+        Pattern.compile("^/api/queue/(\\d+)-")
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public ShowAffinityGatewayFilterFactory() {
+        super(Object.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String showId = fromPath(request.getPath().value());
+            if (showId == null) {
+                showId = request.getQueryParams().getFirst("showId");
+            }
+            if (showId != null) {
+                return chain.filter(withShowId(exchange, request, showId));
+            }
+            if (!MediaType.APPLICATION_JSON.isCompatibleWith(request.getHeaders().getContentType())) {
+                return chain.filter(exchange);
+            }
+            return ServerWebExchangeUtils.cacheRequestBodyAndRequest(exchange, cached -> {
+                DataBuffer body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+                String bodyShowId = body != null ? fromBody(body) : null;
+                return chain.filter(bodyShowId != null
+                    ? withShowId(exchange, cached, bodyShowId)
+                    : exchange.mutate().request(cached).build());
+            });
+        };
+    }
+
+    private static String fromPath(String path) {
+        for (Pattern pattern : SHOW_ID_PATHS) {
+            Matcher matcher = pattern.matcher(path);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    private static String fromBody(DataBuffer body) {
+        try {
+            JsonNode showId = OBJECT_MAPPER.readTree(body.toString(StandardCharsets.UTF_8)).get("showId");
+            return showId != null && (showId.isIntegralNumber() || showId.isTextual()) ? showId.asText().trim() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static ServerWebExchange withShowId(ServerWebExchange exchange, ServerHttpRequest request, String showId) {
+        ServerHttpRequest routed = request.mutate()
+            .headers(headers -> headers.set(ShowAffinityLoadBalancer.SHOW_ID_HEADER, showId))
+            .build();
+        return exchange.mutate().request(routed).build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.revature.gateway.routing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Sends every request for a show to the same booking-service instance by consistent
+ * hashing of {@code X-Show-Id}; requests without one go round robin.
+ */
+public class ShowAffinityLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    public static final String SHOW_ID_HEADER = "X-Show-Id";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final int virtualNodes;
+    private final AtomicInteger next = new AtomicInteger(ThreadLocalRandom.current().nextInt(1000));
+
+    private volatile ConsistentHashRing<ServiceInstance> ring;
+
+    public ShowAffinityLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, int virtualNodes) {
+        this.supplierProvider = supplierProvider;
+        this.virtualNodes = virtualNodes;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String showId = showId(request);
+        return supplier.get(request).next().map(instances -> choose(instances, showId));
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances, String showId) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (showId == null) {
+            return new DefaultResponse(instances.get((next.getAndIncrement() & Integer.MAX_VALUE) % instances.size()));
+        }
+        return new DefaultResponse(ring(instances).locate(showId));
+    }
+
+    private ConsistentHashRing<ServiceInstance> ring(List<ServiceInstance> instances) {
+        Set<String> keys = instances.stream().map(ShowAffinityLoadBalancer::key).collect(Collectors.toSet());
+        ConsistentHashRing<ServiceInstance> current = ring;
+        if (current == null || !current.hasMembers(keys)) {
+            current = ConsistentHashRing.of(instances, ShowAffinityLoadBalancer::key, virtualNodes);
+            ring = current;
+        }
+        return current;
+    }
+
+    private static String showId(Request<?> request) {
+        if (request != null && request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null) {
+            return context.getClientRequest().getHeaders().getFirst(SHOW_ID_HEADER);
+        }
+        return null;
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,22 @@
+package com.revature.gateway.routing;
+
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer for booking-service only; registered through {@code @LoadBalancerClient},
+ * not as a {@code @Configuration}.
+ */
+public class ShowAffinityLoadBalancerConfig {
+
+    @Bean
+    public ReactorServiceInstanceLoadBalancer showAffinityLoadBalancer(Environment environment,
+                                                                      LoadBalancerClientFactory loadBalancerClientFactory) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        int virtualNodes = environment.getProperty("gateway.show-affinity.virtual-nodes", Integer.class, 128);
+        return new ShowAffinityLoadBalancer(loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), virtualNodes);
+    }
+}
@@ -1,14 +1,19 @@
 package com.revature.bookingservice;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class BookingServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(BookingServiceApplication.class, args);
@@ -24,4 +29,42 @@ public class BookingServiceApplication {
     public RestTemplate simpleRestTemplate() {
         return new RestTemplate();
     }
+
+    @Bean(name = "seatGenerationExecutor")
+    public ThreadPoolTaskExecutor seatGenerationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("seat-gen-");
+        return executor;
+    }
+
+    @Bean(name = "catalogRestTemplate")
+    public RestTemplate catalogRestTemplate(@Value("${booking.catalog.timeout-ms:2000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean(name = "catalogLookupExecutor")
+    public ThreadPoolTaskExecutor catalogLookupExecutor(@Value("${booking.catalog.max-concurrency:16}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("catalog-");
+        return executor;
+    }
+
+    @Bean(name = "seatStreamExecutor")
+    public ThreadPoolTaskExecutor seatStreamExecutor(@Value("${booking.seat-stream.sender-threads:4}") int senderThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senderThreads);
+        executor.setMaxPoolSize(senderThreads);
+        executor.setQueueCapacity(100000);
+        executor.setThreadNamePrefix("seat-stream-");
+        return executor;
+    }
 }
@@ -0,0 +1,108 @@
+package com.revature.bookingservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.bookingservice.controller.BookingController;
+import com.revature.bookingservice.controller.SeatController;
+import com.revature.bookingservice.dto.ApiResponse;
+import com.revature.bookingservice.service.ConcurrencyLimitService;
+import com.revature.bookingservice.util.GradientConcurrencyLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Rejects booking and seat requests over their adaptive concurrency limit with 503.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    @Autowired
+    private ConcurrencyLimitService concurrencyLimitService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!concurrencyLimitService.isEnabled() || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        String endpointClass = endpointClass(((HandlerMethod) handler).getBeanType(), request.getMethod());
+        if (endpointClass == null) {
+            return true;
+        }
+
+        GradientConcurrencyLimiter limiter = concurrencyLimitService.getLimiter(endpointClass);
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(concurrencyLimitService.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(false, "Booking service is busy; please retry shortly", null));
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * Streams and exports continue on another thread; their slot is freed as soon as
+     * the request thread is, without a latency sample.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Permit permit = takePermit(request);
+        if (permit != null) {
+            permit.limiter.release(-1);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Permit permit = takePermit(request);
+        if (permit != null) {
+            permit.limiter.release(System.nanoTime() - permit.startNanos);
+        }
+    }
+
+    private static String endpointClass(Class<?> controller, String method) {
+        String group;
+        if (BookingController.class.isAssignableFrom(controller)) {
+            group = "bookings";
+        } else if (SeatController.class.isAssignableFrom(controller)) {
+            group = "seats";
+        } else {
+            return null;
+        }
+        return group + (HttpMethod.GET.matches(method) ? ":read" : ":write");
+    }
+
+    private static Permit takePermit(HttpServletRequest request) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        return permit;
+    }
+
+    private static final class Permit {
+        private final GradientConcurrencyLimiter limiter;
+        private final long startNanos;
+
+        private Permit(GradientConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+    }
+}
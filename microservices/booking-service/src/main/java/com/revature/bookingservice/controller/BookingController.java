@@ -1,13 +1,38 @@
 package com.revature.bookingservice.controller;
 
 import com.revature.bookingservice.dto.ApiResponse;
+import com.revature.bookingservice.dto.BookingDTO;
+import com.revature.bookingservice.dto.BookingPageDTO;
+import com.revature.bookingservice.dto.PriceQuote;
+import com.revature.bookingservice.dto.ShowContentionStats;
+import com.revature.bookingservice.dto.ShowDTO;
 import com.revature.bookingservice.entity.Booking;
 import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.exception.IdempotencyKeyReuseException;
+import com.revature.bookingservice.exception.PriceMismatchException;
+import com.revature.bookingservice.exception.QueueAdmissionRequiredException;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import com.revature.bookingservice.service.BookingExportService;
+import com.revature.bookingservice.service.BookingIdempotencyService;
+import com.revature.bookingservice.service.BookingJournalService;
 import com.revature.bookingservice.service.BookingService;
+import com.revature.bookingservice.service.CatalogClient;
+import com.revature.bookingservice.service.ConcurrencyLimitService;
+import com.revature.bookingservice.service.PricingEngine;
+import com.revature.bookingservice.service.SeatContentionService;
+import com.revature.bookingservice.service.SeatGenerationJob;
 import com.revature.bookingservice.service.ShowService;
+import com.revature.bookingservice.service.WaitingRoomService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -22,10 +47,37 @@ public class BookingController {
     @Autowired
     private ShowService showService;
 
+    @Autowired
+    private BookingIdempotencyService bookingIdempotencyService;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private CatalogClient catalogClient;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private SeatContentionService seatContentionService;
+
+    @Autowired
+    private BookingJournalService bookingJournalService;
+
+    @Autowired
+    private ConcurrencyLimitService concurrencyLimitService;
+
+    @Value("${booking.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+
     @GetMapping("/bookings")
-    public ResponseEntity<ApiResponse<List<java.util.Map<String, Object>>>> getUserBookings(@RequestParam Long userId) {
+    public ResponseEntity<ApiResponse<List<BookingDTO>>> getUserBookings(@RequestParam Long userId) {
         try {
-            List<java.util.Map<String, Object>> bookings = bookingService.getUserBookings(userId);
+            List<BookingDTO> bookings = bookingService.getUserBookings(userId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Bookings retrieved successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -33,15 +85,38 @@ public class BookingController {
     }
 
     @GetMapping("/admin/bookings")
-    public ResponseEntity<ApiResponse<List<java.util.Map<String, Object>>>> getAllBookings() {
+    public ResponseEntity<ApiResponse<BookingPageDTO>> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int limit) {
         try {
-            List<java.util.Map<String, Object>> bookings = bookingService.getAllBookings();
-            return ResponseEntity.ok(new ApiResponse<>(true, "Bookings fetched successfully", bookings));
+            BookingPageDTO page = bookingService.getBookingsPage(cursor, limit);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Bookings fetched successfully", page));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
+    @GetMapping("/admin/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(defaultValue = "ndjson") String format,
+                                                                HttpServletRequest request) {
+        BookingExportService.Format exportFormat;
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean csv = exportFormat == BookingExportService.Format.CSV;
+        StreamingResponseBody body = out -> {
+            // A full export outlives the container's default async timeout; extend it for this request only
+            request.getAsyncContext().setTimeout(exportTimeoutMs);
+            bookingExportService.exportBookings(exportFormat, out);
+        };
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv") : MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"")
+            .body(body);
+    }
+
     @GetMapping("/admin/shows")
     public ResponseEntity<ApiResponse<List<java.util.Map<String, Object>>>> getAllShows() {
         try {
@@ -63,9 +138,9 @@ public class BookingController {
     }
 
     @GetMapping("/bookings/my-bookings")
-    public ResponseEntity<ApiResponse<List<java.util.Map<String, Object>>>> getMyBookings(@RequestParam Long userId) {
+    public ResponseEntity<ApiResponse<List<BookingDTO>>> getMyBookings(@RequestParam Long userId) {
         try {
-            List<java.util.Map<String, Object>> bookings = bookingService.getUserBookings(userId);
+            List<BookingDTO> bookings = bookingService.getUserBookings(userId);
             return ResponseEntity.ok(new ApiResponse<>(true, "My bookings retrieved successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -92,6 +167,26 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/shows/{id}/availability")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getShowAvailability(@PathVariable Long id) {
+        try {
+            Map<String, Object> availability = showService.getShowAvailability(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Show availability retrieved successfully", availability));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/shows/{id}/price-quote")
+    public ResponseEntity<ApiResponse<PriceQuote>> getPriceQuote(@PathVariable Long id, @RequestParam List<String> seats) {
+        try {
+            PriceQuote quote = pricingEngine.quote(id, seats);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Price quote calculated successfully", quote));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/shows/movie/{movieId}/dates")
     public ResponseEntity<ApiResponse<List<String>>> getShowDatesByMovie(@PathVariable Long movieId) {
         try {
@@ -103,9 +198,9 @@ public class BookingController {
     }
 
     @GetMapping("/shows/movie/{movieId}")
-    public ResponseEntity<ApiResponse<List<Show>>> getShowsByMovieAndDate(@PathVariable Long movieId, @RequestParam String date) {
+    public ResponseEntity<ApiResponse<List<ShowDTO>>> getShowsByMovieAndDate(@PathVariable Long movieId, @RequestParam String date) {
         try {
-            List<Show> shows = showService.getShowsByMovieIdAndDate(movieId, date);
+            List<ShowDTO> shows = showService.getShowsByMovieIdAndDate(movieId, date);
             return ResponseEntity.ok(new ApiResponse<>(true, "Shows retrieved successfully", shows));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -123,9 +218,9 @@ public class BookingController {
     }
 
     @GetMapping("/shows/event/{eventId}")
-    public ResponseEntity<ApiResponse<List<Show>>> getShowsByEventAndDate(@PathVariable Long eventId, @RequestParam String date) {
+    public ResponseEntity<ApiResponse<List<ShowDTO>>> getShowsByEventAndDate(@PathVariable Long eventId, @RequestParam String date) {
         try {
-            List<Show> shows = showService.getShowsByEventIdAndDate(eventId, date);
+            List<ShowDTO> shows = showService.getShowsByEventIdAndDate(eventId, date);
             return ResponseEntity.ok(new ApiResponse<>(true, "Shows retrieved successfully", shows));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -153,20 +248,62 @@ public class BookingController {
     }
 
     @PostMapping("/admin/shows/{id}/generate-seats")
-    public ResponseEntity<ApiResponse<Void>> generateSeats(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<SeatGenerationJob>> generateSeats(@PathVariable Long id) {
         try {
-            showService.generateSeatsForShow(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Seats generated successfully", null));
+            SeatGenerationJob job = showService.generateSeatsForShow(id);
+            return ResponseEntity.accepted().body(new ApiResponse<>(true, "Seat generation started", job));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @PutMapping("/admin/shows/{id}/high-demand")
+    public ResponseEntity<ApiResponse<Show>> setHighDemand(@PathVariable Long id, @RequestBody Map<String, Object> settings) {
+        try {
+            boolean enabled = Boolean.parseBoolean(settings.get("enabled").toString());
+            Integer admissionRate = settings.get("admissionRatePerSecond") != null
+                ? Integer.parseInt(settings.get("admissionRatePerSecond").toString())
+                : null;
+            Show show = showService.setHighDemand(id, enabled, admissionRate);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Show demand settings updated", show));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/admin/shows/{id}/seat-generation")
+    public ResponseEntity<ApiResponse<SeatGenerationJob>> getSeatGeneration(@PathVariable Long id) {
+        try {
+            SeatGenerationJob job = showService.getSeatGenerationJob(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Seat generation status retrieved", job));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
     @PostMapping("/bookings")
-    public ResponseEntity<ApiResponse<Booking>> createBooking(@RequestBody Map<String, Object> bookingData) {
+    public ResponseEntity<ApiResponse<BookingDTO>> createBooking(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                              @RequestHeader(value = WaitingRoomService.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+                                                              @RequestBody Map<String, Object> bookingData) {
         try {
-            Booking booking = bookingService.createBooking(bookingData);
+            Long showId = Long.parseLong(bookingData.get("showId").toString());
+            waitingRoomService.checkAdmitted(showId, queueToken);
+            BookingDTO booking = idempotencyKey != null
+                ? bookingIdempotencyService.createBooking(idempotencyKey, bookingData)
+                : seatContentionService.claim(showId, () -> bookingJournalService.accepts(bookingData)
+                    ? bookingJournalService.accept(bookingData, null, null)
+                    : BookingDTO.from(bookingService.createBooking(bookingData), null));
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking created successfully", booking));
+        } catch (QueueAdmissionRequiredException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (SeatAlreadyBookedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (PriceMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IdempotencyKeyReuseException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, "Seats are in high demand right now; please try again", null));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -181,4 +318,51 @@ public class BookingController {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
+
+    @GetMapping("/admin/bookings/journal")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getBookingJournalStats() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Booking journal stats retrieved successfully", bookingJournalService.getStats()));
+    }
+
+    @GetMapping("/admin/contention")
+    public ResponseEntity<ApiResponse<List<ShowContentionStats>>> getContentionHotSpots(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Seat contention stats retrieved successfully", seatContentionService.getHotSpots(limit)));
+    }
+
+    @GetMapping("/admin/contention/shows/{id}")
+    public ResponseEntity<ApiResponse<ShowContentionStats>> getShowContention(@PathVariable Long id) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Seat contention stats retrieved successfully", seatContentionService.getStats(id)));
+    }
+
+    @DeleteMapping("/admin/contention")
+    public ResponseEntity<ApiResponse<Void>> resetContentionStats() {
+        seatContentionService.reset();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Seat contention stats reset", null));
+    }
+
+    @GetMapping("/admin/concurrency-limits")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getConcurrencyLimits() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Concurrency limits retrieved successfully", concurrencyLimitService.getStats()));
+    }
+
+    @GetMapping("/admin/catalog-cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCatalogCacheStats() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Catalog cache stats retrieved successfully", catalogClient.getStats()));
+    }
+
+    @DeleteMapping("/admin/catalog-cache/{type}/{id}")
+    public ResponseEntity<ApiResponse<Void>> invalidateCatalogEntry(@PathVariable String type, @PathVariable Long id) {
+        try {
+            catalogClient.invalidate(CatalogClient.CatalogType.valueOf(type.toUpperCase()), id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Catalog entry invalidated", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @DeleteMapping("/admin/catalog-cache")
+    public ResponseEntity<ApiResponse<Void>> invalidateCatalogCache() {
+        catalogClient.invalidateAll();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Catalog cache cleared", null));
+    }
 }
@@ -0,0 +1,40 @@
+package com.revature.bookingservice.controller;
+
+import com.revature.bookingservice.dto.ApiResponse;
+import com.revature.bookingservice.dto.QueueStatus;
+import com.revature.bookingservice.exception.QueueAdmissionRequiredException;
+import com.revature.bookingservice.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/queue")
+public class QueueController {
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @PostMapping("/show/{showId}/join")
+    public ResponseEntity<ApiResponse<QueueStatus>> joinQueue(@PathVariable Long showId, @RequestParam Long userId) {
+        try {
+            QueueStatus status = waitingRoomService.join(showId, userId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Joined queue successfully", status));
+        } catch (QueueAdmissionRequiredException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/{token}")
+    public ResponseEntity<ApiResponse<QueueStatus>> getQueueStatus(@PathVariable String token) {
+        try {
+            QueueStatus status = waitingRoomService.getStatus(token);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Queue status retrieved", status));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
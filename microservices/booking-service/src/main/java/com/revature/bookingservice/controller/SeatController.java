@@ -1,13 +1,35 @@
 package com.revature.bookingservice.controller;
 
 import com.revature.bookingservice.dto.ApiResponse;
+import com.revature.bookingservice.entity.Booking;
 import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.exception.HoldOwnershipException;
+import com.revature.bookingservice.exception.PriceMismatchException;
+import com.revature.bookingservice.exception.QueueAdmissionRequiredException;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import com.revature.bookingservice.service.BookingService;
+import com.revature.bookingservice.service.SeatContentionService;
+import com.revature.bookingservice.service.SeatHold;
+import com.revature.bookingservice.service.SeatHoldService;
+import com.revature.bookingservice.service.SeatInventoryService;
+import com.revature.bookingservice.service.SeatMapCache;
+import com.revature.bookingservice.service.SeatMapPublisher;
 import com.revature.bookingservice.service.SeatService;
+import com.revature.bookingservice.service.WaitingRoomService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/seats")
@@ -16,21 +38,144 @@ public class SeatController {
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatMapPublisher seatMapPublisher;
+
+    @Autowired
+    private SeatMapCache seatMapCache;
+
+    @Autowired
+    private SeatContentionService seatContentionService;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
     @GetMapping("/show/{showId}")
-    public ResponseEntity<ApiResponse<List<Seat>>> getSeatsByShow(@PathVariable Long showId) {
+    public ResponseEntity<?> getSeatsByShow(@PathVariable Long showId,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return cachedSeatMap(showId, SeatMapCache.View.ALL, ifNoneMatch, () -> seatService.getSeatsByShowId(showId));
+    }
+
+    @GetMapping("/available/show/{showId}")
+    public ResponseEntity<?> getAvailableSeats(@PathVariable Long showId,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return cachedSeatMap(showId, SeatMapCache.View.AVAILABLE, ifNoneMatch, () -> seatService.getAvailableSeatsByShowId(showId));
+    }
+
+    private ResponseEntity<?> cachedSeatMap(Long showId, SeatMapCache.View view, String ifNoneMatch,
+                                            Supplier<List<Seat>> loader) {
         try {
-            List<Seat> seats = seatService.getSeatsByShowId(showId);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Seats retrieved successfully", seats));
+            String eTag = seatMapCache.currentETag(showId);
+            if (eTag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            SeatMapCache.Entry entry = seatMapCache.get(showId, view, loader);
+            return ResponseEntity.ok()
+                .eTag(entry.getETag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.getBody());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
-    @GetMapping("/available/show/{showId}")
-    public ResponseEntity<ApiResponse<List<Seat>>> getAvailableSeats(@PathVariable Long showId) {
+    @GetMapping(value = "/stream/show/{showId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatMap(@PathVariable Long showId) {
+        return seatMapPublisher.subscribe(seatInventoryService.getInventory(showId));
+    }
+
+    @PostMapping("/hold")
+    public ResponseEntity<ApiResponse<SeatHold>> holdSeats(@RequestHeader(value = WaitingRoomService.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+                                                           @RequestBody Map<String, Object> holdData) {
+        try {
+            Long showId = Long.parseLong(holdData.get("showId").toString());
+            waitingRoomService.checkAdmitted(showId, queueToken);
+            Long userId = holdData.get("userId") != null ? Long.parseLong(holdData.get("userId").toString()) : null;
+            List<String> seatLabels = ((List<?>) holdData.get("seatNumbers")).stream()
+                .map(Object::toString)
+                .collect(Collectors.toList());
+            SeatHold hold = seatHoldService.holdSeats(showId, userId, seatLabels);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Seats held successfully", hold));
+        } catch (QueueAdmissionRequiredException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (SeatAlreadyBookedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/best-available")
+    public ResponseEntity<ApiResponse<SeatHold>> holdBestAvailable(@RequestHeader(value = WaitingRoomService.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+                                                                   @RequestBody Map<String, Object> request) {
+        try {
+            Long showId = Long.parseLong(request.get("showId").toString());
+            waitingRoomService.checkAdmitted(showId, queueToken);
+            Long userId = request.get("userId") != null ? Long.parseLong(request.get("userId").toString()) : null;
+            int partySize = Integer.parseInt(request.get("partySize").toString());
+            Seat.SeatType seatType = request.get("seatType") != null
+                ? Seat.SeatType.valueOf(request.get("seatType").toString().toUpperCase())
+                : null;
+            SeatHold hold = seatHoldService.holdBestAvailable(showId, userId, partySize, seatType);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Best available seats held successfully", hold));
+        } catch (QueueAdmissionRequiredException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (SeatAlreadyBookedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/hold/{holdId}")
+    public ResponseEntity<ApiResponse<SeatHold>> getHold(@PathVariable String holdId, @RequestParam Long userId) {
+        try {
+            SeatHold hold = seatHoldService.getHold(holdId, userId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Hold retrieved successfully", hold));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (HoldOwnershipException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @DeleteMapping("/hold/{holdId}")
+    public ResponseEntity<ApiResponse<Void>> releaseHold(@PathVariable String holdId, @RequestParam Long userId) {
+        try {
+            seatHoldService.releaseHold(holdId, userId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Hold released successfully", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (HoldOwnershipException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/hold/{holdId}/confirm")
+    public ResponseEntity<ApiResponse<Booking>> confirmHold(@PathVariable String holdId, @RequestBody Map<String, Object> bookingData) {
         try {
-            List<Seat> seats = seatService.getAvailableSeatsByShowId(showId);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Available seats retrieved", seats));
+            SeatHold hold = seatHoldService.getHold(holdId);
+            Booking booking = seatContentionService.claim(hold.getShowId(), () -> bookingService.confirmHold(holdId, bookingData));
+            return ResponseEntity.ok(new ApiResponse<>(true, "Booking created successfully", booking));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (HoldOwnershipException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (SeatAlreadyBookedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (PriceMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, "Seats are in high demand right now; please try again", null));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
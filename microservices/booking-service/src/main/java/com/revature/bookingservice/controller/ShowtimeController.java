@@ -0,0 +1,33 @@
+package com.revature.bookingservice.controller;
+
+import com.revature.bookingservice.dto.ApiResponse;
+import com.revature.bookingservice.entity.ShowtimeView;
+import com.revature.bookingservice.service.ShowtimeReadModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/showtimes")
+public class ShowtimeController {
+
+    @Autowired
+    private ShowtimeReadModel showtimeReadModel;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ShowtimeView>>> getShowtimes(
+            @RequestParam String city,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) Long movieId) {
+        try {
+            LocalDate showDate = date != null ? LocalDate.parse(date) : LocalDate.now();
+            List<ShowtimeView> showtimes = showtimeReadModel.findShowtimes(city, showDate, movieId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Showtimes retrieved successfully", showtimes));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.revature.bookingservice.entity.Booking;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class BookingDTO {
+    private Long bookingId;
+    private Long userId;
+    private Long showId;
+    private String bookingReference;
+    private Integer totalSeats;
+    private BigDecimal totalAmount;
+    private String bookingStatus;
+    private String paymentStatus;
+    private LocalDateTime bookingDate;
+    private Boolean isCancelled;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ShowSummaryDTO show;
+
+    // Set instead of bookingId while a journaled booking is not yet in the database
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long journalSeq;
+
+    public static BookingDTO from(Booking booking, ShowSummaryDTO show) {
+        BookingDTO dto = new BookingDTO();
+        dto.setBookingId(booking.getBookingId());
+        dto.setUserId(booking.getUserId());
+        dto.setShowId(booking.getShowId());
+        dto.setBookingReference(booking.getBookingReference());
+        dto.setTotalSeats(booking.getTotalSeats());
+        dto.setTotalAmount(booking.getTotalAmount());
+        dto.setBookingStatus(booking.getBookingStatus().toString());
+        dto.setPaymentStatus(booking.getPaymentStatus());
+        dto.setBookingDate(booking.getBookingDate());
+        dto.setIsCancelled(booking.getBookingStatus() == Booking.BookingStatus.CANCELLED);
+        dto.setShow(show);
+        return dto;
+    }
+
+    /**
+     * A booking confirmed from the booking journal. It has no booking id until the
+     * journal is flushed; the booking reference identifies it meanwhile.
+     */
+    public static BookingDTO accepted(BookingJournalEntry entry) {
+        BookingDTO dto = new BookingDTO();
+        dto.setUserId(entry.getUserId());
+        dto.setShowId(entry.getShowId());
+        dto.setBookingReference(entry.getBookingReference());
+        dto.setTotalSeats(entry.getSeatIds().size());
+        dto.setTotalAmount(entry.getTotalAmount());
+        dto.setBookingStatus(Booking.BookingStatus.CONFIRMED.toString());
+        dto.setPaymentStatus("COMPLETED");
+        dto.setBookingDate(entry.getAcceptedAt());
+        dto.setIsCancelled(false);
+        dto.setJournalSeq(entry.getSeq());
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One accepted booking as written to the booking journal.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingJournalEntry {
+    private String bookingReference;
+    private String idempotencyKey;
+    private String requestHash;
+    private Long userId;
+    private Long showId;
+    private List<String> seatLabels;
+    private List<Long> seatIds;
+    private BigDecimal totalAmount;
+    private LocalDateTime acceptedAt;
+
+    // Assigned by the journal, not part of the record
+    @JsonIgnore
+    private long seq;
+}
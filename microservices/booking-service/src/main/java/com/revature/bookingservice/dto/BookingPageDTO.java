@@ -0,0 +1,14 @@
+package com.revature.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookingPageDTO {
+    private List<BookingDTO> bookings;
+    private String nextCursor;
+    private boolean hasMore;
+}
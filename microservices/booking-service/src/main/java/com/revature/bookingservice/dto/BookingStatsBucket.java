@@ -0,0 +1,16 @@
+package com.revature.bookingservice.dto;
+
+import com.revature.bookingservice.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class BookingStatsBucket {
+    private Booking.BookingStatus bookingStatus;
+    private String paymentStatus;
+    private Long bookingCount;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,34 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * An event as returned by movie-service.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EventDTO {
+    private Long eventId;
+    private String title;
+    private String description;
+    private String category;
+    private LocalDate eventDate;
+    private LocalTime eventTime;
+    private Integer durationMinutes;
+    private String artistOrTeam;
+    private String language;
+    private String ageRestriction;
+    private String displayImageUrl;
+    private String bannerImageUrl;
+    private String trailerUrl;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
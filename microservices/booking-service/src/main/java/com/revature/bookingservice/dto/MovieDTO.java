@@ -0,0 +1,35 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A movie as returned by movie-service.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MovieDTO {
+    private Long movieId;
+    private String title;
+    private String description;
+    private Integer durationMinutes;
+    private String genre;
+    private String language;
+    private String parentalRating;
+    private LocalDate releaseDate;
+    private String cast;
+    private String crew;
+    private String trailerUrl;
+    private String displayImageUrl;
+    private String bannerImageUrl;
+    private BigDecimal rating;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.revature.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PriceQuote {
+    private Long showId;
+    private BigDecimal surgeMultiplier;
+    private BigDecimal totalAmount;
+    private List<SeatPrice> seats;
+
+    @Data
+    @AllArgsConstructor
+    public static class SeatPrice {
+        private String label;
+        private String seatType;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,17 @@
+package com.revature.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class QueueStatus {
+    private String token;
+    private Long showId;
+    private long position;
+    private boolean admitted;
+    private long estimatedWaitSeconds;
+    private LocalDateTime admissionExpiresAt;
+}
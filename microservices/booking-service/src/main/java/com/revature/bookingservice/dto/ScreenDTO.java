@@ -0,0 +1,27 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A screen as returned by venue-service.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ScreenDTO {
+    private Long screenId;
+    private Long venueId;
+    private Integer screenNumber;
+    private String screenType;
+    private String soundSystem;
+    private Map<String, Object> seatLayout;
+    private Integer totalSeats;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
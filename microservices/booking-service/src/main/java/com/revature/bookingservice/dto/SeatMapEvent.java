@@ -0,0 +1,21 @@
+package com.revature.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SeatMapEvent {
+    private Long showId;
+    private long version;
+    private List<SeatState> seats;
+
+    @Data
+    @AllArgsConstructor
+    public static class SeatState {
+        private String label;
+        private boolean available;
+    }
+}
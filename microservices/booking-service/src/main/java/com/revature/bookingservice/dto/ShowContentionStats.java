@@ -0,0 +1,15 @@
+package com.revature.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ShowContentionStats {
+    private Long showId;
+    private long attempts;
+    private long conflicts;
+    private long retries;
+    private long aborts;
+    private double abortRate;
+}
@@ -0,0 +1,56 @@
+package com.revature.bookingservice.dto;
+
+import com.revature.bookingservice.entity.Show;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+/**
+ * A show as returned by the browse endpoints, with its current seat availability.
+ */
+@Data
+@NoArgsConstructor
+public class ShowDTO {
+    private Long showId;
+    private Long movieId;
+    private Long eventId;
+    private Long venueId;
+    private Long screenId;
+    private LocalDate showDate;
+    private LocalTime showTime;
+    private BigDecimal basePrice;
+    private Map<String, BigDecimal> pricingTiers;
+    private Integer totalSeats;
+    private Integer availableSeats;
+    private Boolean isActive;
+    private Boolean isHighDemand;
+    private Integer admissionRatePerSecond;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static ShowDTO from(Show show, Integer availableSeats) {
+        ShowDTO dto = new ShowDTO();
+        dto.setShowId(show.getShowId());
+        dto.setMovieId(show.getMovieId());
+        dto.setEventId(show.getEventId());
+        dto.setVenueId(show.getVenueId());
+        dto.setScreenId(show.getScreenId());
+        dto.setShowDate(show.getShowDate());
+        dto.setShowTime(show.getShowTime());
+        dto.setBasePrice(show.getBasePrice());
+        dto.setPricingTiers(show.getPricingTiers());
+        dto.setTotalSeats(show.getTotalSeats());
+        dto.setAvailableSeats(availableSeats);
+        dto.setIsActive(show.getIsActive());
+        dto.setIsHighDemand(show.getIsHighDemand());
+        dto.setAdmissionRatePerSecond(show.getAdmissionRatePerSecond());
+        dto.setCreatedAt(show.getCreatedAt());
+        dto.setUpdatedAt(show.getUpdatedAt());
+        return dto;
+    }
+}
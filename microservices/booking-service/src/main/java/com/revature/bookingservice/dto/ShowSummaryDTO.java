@@ -0,0 +1,21 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowSummaryDTO {
+    @JsonIgnore
+    private Long showId;
+    private LocalDate showDate;
+    private LocalTime showTime;
+    private BigDecimal basePrice;
+}
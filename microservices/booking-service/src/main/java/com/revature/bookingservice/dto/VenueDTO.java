@@ -0,0 +1,28 @@
+package com.revature.bookingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A venue as returned by venue-service.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class VenueDTO {
+    private Long venueId;
+    private String venueName;
+    private String address;
+    private String city;
+    private String state;
+    private String pincode;
+    private Integer totalScreens;
+    private Map<String, Object> facilities;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
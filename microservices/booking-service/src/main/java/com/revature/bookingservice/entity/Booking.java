@@ -1,5 +1,6 @@
 package com.revature.bookingservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +12,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_date_id", columnList = "booking_date, booking_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +30,14 @@ public class Booking {
     @Column(unique = true, nullable = false)
     private String bookingReference;
 
+    @Column(unique = true, length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 of the request that used the idempotency key
+    @JsonIgnore
+    @Column(length = 64)
+    private String requestHash;
+
     @Column(nullable = false)
     private Integer totalSeats;
 
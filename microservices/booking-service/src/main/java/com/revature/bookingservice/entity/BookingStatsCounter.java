@@ -0,0 +1,38 @@
+package com.revature.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One slot of the running booking totals for a (booking status, payment status) pair.
+ */
+@Entity
+@Table(name = "booking_stats_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatsCounter {
+
+    @Id
+    @Column(length = 80)
+    private String statKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Booking.BookingStatus bookingStatus;
+
+    private String paymentStatus;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(nullable = false)
+    private Long bookingCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+}
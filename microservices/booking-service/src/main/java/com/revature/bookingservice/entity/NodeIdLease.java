@@ -0,0 +1,26 @@
+package com.revature.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A booking reference node id leased to one instance until {@code expiresAt} (epoch millis).
+ */
+@Entity
+@Table(name = "booking_node_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeIdLease {
+
+    @Id
+    private Integer nodeId;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(nullable = false)
+    private Long expiresAt;
+}
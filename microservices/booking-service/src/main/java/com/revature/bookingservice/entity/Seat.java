@@ -5,12 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", indexes = {
+    @Index(name = "idx_seats_updated_at", columnList = "updated_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_seats_show_row_number", columnNames = {"show_id", "row_label", "seat_number"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,10 +43,17 @@ public class Seat {
     private Boolean isAvailable = true;
     private Boolean isBlocked = false;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version = 0L;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     public enum SeatType {
         PREMIUM, REGULAR, ECONOMY, RECLINER, VIP
     }
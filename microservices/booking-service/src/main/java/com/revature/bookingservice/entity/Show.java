@@ -13,7 +13,10 @@ import java.time.LocalTime;
 import java.util.Map;
 
 @Entity
-@Table(name = "shows")
+@Table(name = "shows", indexes = {
+    @Index(name = "idx_shows_movie_active_date_time", columnList = "movie_id, is_active, show_date, show_time"),
+    @Index(name = "idx_shows_event_active_date_time", columnList = "event_id, is_active, show_date, show_time")
+})
 public class Show {
 
     @Id
@@ -55,6 +58,12 @@ public class Show {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    @Column(name = "is_high_demand")
+    private Boolean isHighDemand = false;
+
+    @Column(name = "admission_rate_per_second")
+    private Integer admissionRatePerSecond;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -103,6 +112,12 @@ public class Show {
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
 
+    public Boolean getIsHighDemand() { return isHighDemand; }
+    public void setIsHighDemand(Boolean isHighDemand) { this.isHighDemand = isHighDemand; }
+
+    public Integer getAdmissionRatePerSecond() { return admissionRatePerSecond; }
+    public void setAdmissionRatePerSecond(Integer admissionRatePerSecond) { this.admissionRatePerSecond = admissionRatePerSecond; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,51 @@
+package com.revature.bookingservice.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read model row for city/date browsing: one active show joined with its venue,
+ * screen and movie or event title. Maintained by ShowtimeReadModel; never written
+ * through anything else.
+ */
+@Entity
+@Table(name = "showtimes_view", indexes = {
+    @Index(name = "idx_showtimes_city_date_movie", columnList = "city_key, show_date, movie_id, show_time")
+})
+@Data
+@NoArgsConstructor
+public class ShowtimeView {
+
+    @Id
+    private Long showId;
+
+    @JsonIgnore
+    @Column(length = 100)
+    private String cityKey;
+
+    private String city;
+    private LocalDate showDate;
+    private LocalTime showTime;
+    private Long movieId;
+    private Long eventId;
+    private String title;
+    private String language;
+    private Long venueId;
+    private String venueName;
+    private Long screenId;
+    private Integer screenNumber;
+    private String screenType;
+    private BigDecimal basePrice;
+
+    @Transient
+    private Integer availableSeats;
+
+    private LocalDateTime refreshedAt;
+}
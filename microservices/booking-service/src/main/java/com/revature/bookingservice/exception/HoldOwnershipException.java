@@ -0,0 +1,7 @@
+package com.revature.bookingservice.exception;
+
+public class HoldOwnershipException extends RuntimeException {
+    public HoldOwnershipException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.revature.bookingservice.exception;
+
+public class PriceMismatchException extends RuntimeException {
+    public PriceMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.revature.bookingservice.exception;
+
+public class QueueAdmissionRequiredException extends RuntimeException {
+    public QueueAdmissionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,47 @@
 package com.revature.bookingservice.repository;
 
+import com.revature.bookingservice.dto.BookingStatsBucket;
 import com.revature.bookingservice.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserIdOrderByBookingDateDesc(Long userId);
     Optional<Booking> findByBookingReference(String reference);
+    boolean existsByBookingReference(String reference);
+    Optional<Booking> findByIdempotencyKey(String idempotencyKey);
     Long countByBookingStatus(Booking.BookingStatus status);
     
     @Query("SELECT DISTINCT b.showId FROM Booking b")
     List<Long> findDistinctShowIds();
+
+    @Query("SELECT new com.revature.bookingservice.dto.BookingStatsBucket(b.bookingStatus, b.paymentStatus, COUNT(b), SUM(b.totalAmount)) "
+        + "FROM Booking b GROUP BY b.bookingStatus, b.paymentStatus")
+    List<BookingStatsBucket> aggregateByStatus();
+
+    List<Booking> findAllByOrderByBookingDateDescBookingIdDesc(Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.bookingDate < :bookingDate "
+        + "OR (b.bookingDate = :bookingDate AND b.bookingId < :bookingId) "
+        + "ORDER BY b.bookingDate DESC, b.bookingId DESC")
+    List<Booking> findPageBefore(@Param("bookingDate") LocalDateTime bookingDate,
+                                 @Param("bookingId") Long bookingId,
+                                 Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b FROM Booking b ORDER BY b.bookingDate DESC, b.bookingId DESC")
+    Stream<Booking> streamAllOrderByBookingDateDesc();
 }
@@ -0,0 +1,36 @@
+package com.revature.bookingservice.repository;
+
+import com.revature.bookingservice.dto.BookingStatsBucket;
+import com.revature.bookingservice.entity.BookingStatsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface BookingStatsCounterRepository extends JpaRepository<BookingStatsCounter, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO booking_stats_counters (stat_key, booking_status, payment_status, slot, booking_count, total_amount) "
+        + "VALUES (:statKey, :bookingStatus, :paymentStatus, :slot, :count, :amount) "
+        + "ON DUPLICATE KEY UPDATE booking_count = booking_count + :count, total_amount = total_amount + :amount",
+        nativeQuery = true)
+    int increment(@Param("statKey") String statKey,
+                  @Param("bookingStatus") String bookingStatus,
+                  @Param("paymentStatus") String paymentStatus,
+                  @Param("slot") int slot,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount);
+
+    @Query("SELECT new com.revature.bookingservice.dto.BookingStatsBucket(c.bookingStatus, c.paymentStatus, SUM(c.bookingCount), SUM(c.totalAmount)) "
+        + "FROM BookingStatsCounter c GROUP BY c.bookingStatus, c.paymentStatus")
+    List<BookingStatsBucket> sumBuckets();
+
+    @Modifying
+    @Query(value = "DELETE FROM booking_stats_counters", nativeQuery = true)
+    int deleteAllCounters();
+}
@@ -0,0 +1,31 @@
+package com.revature.bookingservice.repository;
+
+import com.revature.bookingservice.entity.NodeIdLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface NodeIdLeaseRepository extends JpaRepository<NodeIdLease, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO booking_node_leases (node_id, owner, expires_at) VALUES (:nodeId, :owner, :expiresAt)",
+        nativeQuery = true)
+    int insertIfAbsent(@Param("nodeId") int nodeId, @Param("owner") String owner, @Param("expiresAt") long expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NodeIdLease l SET l.owner = :owner, l.expiresAt = :expiresAt "
+        + "WHERE l.nodeId = :nodeId AND l.expiresAt < :now")
+    int claimExpired(@Param("nodeId") int nodeId, @Param("owner") String owner,
+                     @Param("expiresAt") long expiresAt, @Param("now") long now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NodeIdLease l SET l.expiresAt = :expiresAt WHERE l.nodeId = :nodeId AND l.owner = :owner")
+    int renew(@Param("nodeId") int nodeId, @Param("owner") String owner, @Param("expiresAt") long expiresAt);
+}
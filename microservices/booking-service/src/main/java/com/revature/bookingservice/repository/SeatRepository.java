@@ -2,13 +2,29 @@ package com.revature.bookingservice.repository;
 
 import com.revature.bookingservice.entity.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByShowIdOrderByRowLabelAscSeatNumberAsc(Long showId);
+    List<Seat> findByShowIdOrderBySeatIdAsc(Long showId);
     List<Seat> findByShowIdAndIsAvailableTrue(Long showId);
     List<Seat> findByShowIdAndRowLabelAndSeatNumber(Long showId, String rowLabel, Integer seatNumber);
+    List<Seat> findByUpdatedAtAfter(LocalDateTime since);
+
+    /**
+     * Claims the seats only if every one is still available, bumping each row's
+     * version so that any stale entity copy fails its own optimistic check. Bulk
+     * updates skip {@code @UpdateTimestamp}, so the caller passes the time.
+     */
+    @Modifying
+    @Query("UPDATE Seat s SET s.isAvailable = false, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.seatId IN :seatIds AND s.isAvailable = true")
+    int markUnavailable(@Param("seatIds") Collection<Long> seatIds, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -1,10 +1,14 @@
 package com.revature.bookingservice.repository;
 
+import com.revature.bookingservice.dto.ShowSummaryDTO;
 import com.revature.bookingservice.entity.Show;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,10 +17,31 @@ public interface ShowRepository extends JpaRepository<Show, Long> {
     List<Show> findByMovieIdAndIsActiveTrueOrderByShowDateAscShowTimeAsc(Long movieId);
     List<Show> findByEventIdAndIsActiveTrueOrderByShowDateAscShowTimeAsc(Long eventId);
     List<Show> findByVenueIdAndIsActiveTrueOrderByShowDateAscShowTimeAsc(Long venueId);
+    List<Show> findByIsHighDemandTrueAndIsActiveTrue();
     
     @Query("SELECT DISTINCT s.movieId FROM Show s WHERE s.movieId IS NOT NULL AND s.isActive = true")
     List<Long> findDistinctMovieIds();
     
     @Query("SELECT DISTINCT s.eventId FROM Show s WHERE s.eventId IS NOT NULL AND s.isActive = true")
     List<Long> findDistinctEventIds();
-}
\ No newline at end of file
+
+    @Query("SELECT new com.revature.bookingservice.dto.ShowSummaryDTO(s.showId, s.showDate, s.showTime, s.basePrice) "
+        + "FROM Show s WHERE s.showId IN :showIds")
+    List<ShowSummaryDTO> findSummariesByShowIdIn(@Param("showIds") Collection<Long> showIds);
+
+    @Modifying
+    @Query("UPDATE Show s SET s.availableSeats = s.availableSeats - :count, s.updatedAt = CURRENT_TIMESTAMP "
+        + "WHERE s.showId = :showId AND s.availableSeats >= :count")
+    int decrementAvailableSeats(@Param("showId") Long showId, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Show s SET s.availableSeats = CASE WHEN s.availableSeats >= :count THEN s.availableSeats - :count ELSE 0 END, "
+        + "s.updatedAt = CURRENT_TIMESTAMP WHERE s.showId = :showId")
+    int decrementAvailableSeatsClamped(@Param("showId") Long showId, @Param("count") int count);
+
+    @Query("SELECT s.availableSeats FROM Show s WHERE s.showId = :showId")
+    Integer findAvailableSeatsByShowId(@Param("showId") Long showId);
+
+    @Query("SELECT s.showId, s.availableSeats FROM Show s WHERE s.showId IN :showIds")
+    List<Object[]> findAvailableSeatsByShowIdIn(@Param("showIds") Collection<Long> showIds);
+}
@@ -0,0 +1,24 @@
+package com.revature.bookingservice.repository;
+
+import com.revature.bookingservice.entity.ShowtimeView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ShowtimeViewRepository extends JpaRepository<ShowtimeView, Long> {
+    List<ShowtimeView> findByCityKeyAndShowDateOrderByShowTimeAsc(String cityKey, LocalDate showDate);
+    List<ShowtimeView> findByCityKeyAndShowDateAndMovieIdOrderByShowTimeAsc(String cityKey, LocalDate showDate, Long movieId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ShowtimeView v WHERE v.refreshedAt < :cutoff")
+    int deleteByRefreshedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
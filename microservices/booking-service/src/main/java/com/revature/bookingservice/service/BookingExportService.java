@@ -0,0 +1,101 @@
+package com.revature.bookingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.bookingservice.dto.BookingDTO;
+import com.revature.bookingservice.entity.Booking;
+import com.revature.bookingservice.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams every booking as NDJSON or CSV without holding the table in memory.
+ */
+@Service
+public class BookingExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String CSV_HEADER =
+        "bookingId,bookingReference,userId,showId,totalSeats,totalAmount,bookingStatus,paymentStatus,bookingDate";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportBookings(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<Booking> bookings = bookingRepository.streamAllOrderByBookingDateDesc()) {
+            bookings.forEach(booking -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, booking);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(BookingDTO.from(booking, null)));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(booking);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Booking booking) throws IOException {
+        writer.write(csv(booking.getBookingId()));
+        writer.write(',');
+        writer.write(csv(booking.getBookingReference()));
+        writer.write(',');
+        writer.write(csv(booking.getUserId()));
+        writer.write(',');
+        writer.write(csv(booking.getShowId()));
+        writer.write(',');
+        writer.write(csv(booking.getTotalSeats()));
+        writer.write(',');
+        writer.write(csv(booking.getTotalAmount()));
+        writer.write(',');
+        writer.write(csv(booking.getBookingStatus()));
+        writer.write(',');
+        writer.write(csv(booking.getPaymentStatus()));
+        writer.write(',');
+        writer.write(csv(booking.getBookingDate()));
+        writer.write('\n');
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,173 @@
+package com.revature.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.revature.bookingservice.dto.BookingDTO;
+import com.revature.bookingservice.entity.Booking;
+import com.revature.bookingservice.exception.IdempotencyKeyReuseException;
+import com.revature.bookingservice.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honors the {@code Idempotency-Key} header on booking creation.
+ */
+@Service
+public class BookingIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatContentionService seatContentionService;
+
+    @Autowired
+    private BookingJournalService bookingJournalService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${booking.idempotency.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${booking.idempotency.wait-seconds:30}")
+    private long waitSeconds;
+
+    private final Map<String, Entry> entries;
+
+    public BookingIdempotencyService(@Value("${booking.idempotency.max-entries:100000}") int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(1024) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public BookingDTO createBooking(String idempotencyKey, Map<String, Object> bookingData) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(bookingData);
+        Entry mine = new Entry(requestHash, System.currentTimeMillis() + ttlSeconds * 1000);
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(idempotencyKey);
+            if (existing == null || existing.expiresAt < System.currentTimeMillis()) {
+                entries.put(idempotencyKey, mine);
+                existing = null;
+            }
+        }
+        if (existing != null) {
+            if (!existing.requestHash.equals(requestHash)) {
+                throw reused(idempotencyKey);
+            }
+            return await(existing);
+        }
+
+        try {
+            // A previous attempt may have been stored by another node, or before this node last saw the key
+            Optional<Booking> stored = bookingRepository.findByIdempotencyKey(idempotencyKey);
+            if (stored.isPresent()) {
+                return original(idempotencyKey, mine, stored.get());
+            }
+            Long showId = Long.parseLong(bookingData.get("showId").toString());
+            BookingDTO booking = seatContentionService.claim(showId, () -> bookingJournalService.accepts(bookingData)
+                ? bookingJournalService.accept(bookingData, idempotencyKey, requestHash)
+                : BookingDTO.from(bookingService.createBooking(bookingData, idempotencyKey, requestHash), null));
+            mine.result.complete(booking);
+            return booking;
+        } catch (IdempotencyKeyReuseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // A concurrent attempt on another node may have committed first
+            Optional<Booking> stored = bookingRepository.findByIdempotencyKey(idempotencyKey);
+            if (stored.isPresent()) {
+                return original(idempotencyKey, mine, stored.get());
+            }
+            entries.remove(idempotencyKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Answers with the booking already stored under the key, if it was made by the same request.
+     */
+    private BookingDTO original(String idempotencyKey, Entry mine, Booking stored) {
+        if (!matches(stored, mine.requestHash)) {
+            IdempotencyKeyReuseException failure = reused(idempotencyKey);
+            entries.remove(idempotencyKey, mine);
+            mine.result.completeExceptionally(failure);
+            throw failure;
+        }
+        BookingDTO booking = BookingDTO.from(stored, null);
+        mine.result.complete(booking);
+        return booking;
+    }
+
+    private static boolean matches(Booking booking, String requestHash) {
+        // Bookings stored before request hashes were recorded have none to compare
+        return booking.getRequestHash() == null || booking.getRequestHash().equals(requestHash);
+    }
+
+    private static IdempotencyKeyReuseException reused(String idempotencyKey) {
+        return new IdempotencyKeyReuseException("Idempotency-Key " + idempotencyKey + " was already used for a different request");
+    }
+
+    /**
+     * SHA-256 of the request body with map keys sorted, so field order does not matter.
+     */
+    private String hash(Map<String, Object> bookingData) {
+        try {
+            byte[] body = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(bookingData);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the booking request", e);
+        }
+    }
+
+    private BookingDTO await(Entry entry) {
+        try {
+            return entry.result.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A booking with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate booking request");
+        }
+    }
+
+    private static final class Entry {
+        private final String requestHash;
+        private final long expiresAt;
+        private final CompletableFuture<BookingDTO> result = new CompletableFuture<>();
+
+        private Entry(String requestHash, long expiresAt) {
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.revature.bookingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.bookingservice.dto.BookingDTO;
+import com.revature.bookingservice.dto.BookingJournalEntry;
+import com.revature.bookingservice.dto.PriceQuote;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import com.revature.bookingservice.repository.BookingRepository;
+import com.revature.bookingservice.util.BookingReferenceGenerator;
+import com.revature.bookingservice.util.GroupCommitJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind mode for seat bookings ({@code booking.journal.enabled}): bookings
+ * are confirmed once journaled and flushed to MySQL in batches.
+ */
+@Service
+public class BookingJournalService {
+
+    @Autowired
+    private BookingJournalWriter bookingJournalWriter;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatMapPublisher seatMapPublisher;
+
+    @Autowired
+    private SeatMapCache seatMapCache;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private BookingReferenceGenerator bookingReferenceGenerator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${booking.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.journal.directory:./data/booking-journal}")
+    private String directory;
+
+    @Value("${booking.journal.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${booking.journal.max-group-size:1000}")
+    private int maxGroupSize;
+
+    @Value("${booking.journal.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private GroupCommitJournal journal;
+
+    private final ConcurrentLinkedDeque<BookingJournalEntry> unflushed = new ConcurrentLinkedDeque<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new GroupCommitJournal(Paths.get(directory), segmentBytes, maxGroupSize);
+        List<BookingJournalEntry> replayed = new ArrayList<>();
+        journal.replay((seq, payload) -> {
+            try {
+                BookingJournalEntry entry = objectMapper.readValue(payload, BookingJournalEntry.class);
+                entry.setSeq(seq);
+                replayed.add(entry);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable booking journal record " + seq, e);
+            }
+        });
+        // Replay before serving, so the inventory is loaded with these seats already taken
+        for (int from = 0; from < replayed.size(); from += flushBatchSize) {
+            List<BookingJournalEntry> batch = replayed.subList(from, Math.min(from + flushBatchSize, replayed.size()));
+            if (!applyBatch(batch)) {
+                throw new IllegalStateException("Could not replay the booking journal; database unavailable");
+            }
+        }
+        journal.start();
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Journal mode covers bookings for named seats; anything else goes to the database directly.
+     */
+    public boolean accepts(Map<String, Object> bookingData) {
+        return isEnabled() && bookingData.get("seatNumbers") instanceof List;
+    }
+
+    public BookingDTO accept(Map<String, Object> bookingData, String idempotencyKey, String requestHash) {
+        Long showId = Long.parseLong(bookingData.get("showId").toString());
+        Long userId = Long.parseLong(bookingData.get("userId").toString());
+        List<String> requested = ((List<?>) bookingData.get("seatNumbers")).stream()
+            .map(Object::toString)
+            .collect(Collectors.toList());
+
+        ShowSeatInventory inventory = seatInventoryService.getInventory(showId);
+        int[] positions = inventory.resolve(requested);
+        List<String> labels = inventory.labels(positions);
+        // Priced on the server; the client must have been charged exactly that
+        PriceQuote quote = pricingEngine.quote(showId, labels);
+        PricingEngine.checkCharged(quote, bookingData.get("totalAmount"));
+        BookingJournalEntry entry = new BookingJournalEntry(bookingReferenceGenerator.nextReference(), idempotencyKey,
+            requestHash, userId, showId, labels, inventory.seatIds(positions), quote.getTotalAmount(),
+            LocalDateTime.now(), 0);
+        if (!inventory.tryClaim(positions)) {
+            throw new SeatAlreadyBookedException("One or more selected seats are already booked");
+        }
+        seatInventoryService.addUnflushed(showId, labels);
+
+        try {
+            entry.setSeq(journal.append(objectMapper.writeValueAsBytes(entry)).join());
+        } catch (IOException | CompletionException e) {
+            seatInventoryService.removeUnflushed(showId, labels);
+            inventory.release(positions);
+            throw new IllegalStateException("Booking could not be recorded; please try again", e);
+        }
+        unflushed.add(entry);
+        accepted.incrementAndGet();
+        seatMapPublisher.publish(showId, labels, false);
+        return BookingDTO.accepted(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.journal.flush-ms:200}")
+    public synchronized void flush() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<BookingJournalEntry> batch = new ArrayList<>(flushBatchSize);
+        for (BookingJournalEntry entry; (entry = unflushed.poll()) != null; ) {
+            batch.add(entry);
+            if (batch.size() == flushBatchSize) {
+                if (!applyBatch(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            applyBatch(batch);
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction, or entry by entry if that fails so that
+     * a single conflicting booking cannot hold up the rest. Returns false, with the
+     * unwritten entries back at the head of the queue, if the database is failing.
+     */
+    private boolean applyBatch(List<BookingJournalEntry> batch) {
+        try {
+            bookingJournalWriter.apply(batch);
+            batch.forEach(this::applied);
+            return true;
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < batch.size(); i++) {
+                BookingJournalEntry entry = batch.get(i);
+                try {
+                    applyOne(entry);
+                } catch (RuntimeException e) {
+                    for (int j = batch.size() - 1; j >= i; j--) {
+                        unflushed.addFirst(batch.get(j));
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void applyOne(BookingJournalEntry entry) {
+        try {
+            bookingJournalWriter.apply(List.of(entry));
+            applied(entry);
+        } catch (DataIntegrityViolationException e) {
+            if (entry.getIdempotencyKey() != null && bookingRepository.findByIdempotencyKey(entry.getIdempotencyKey()).isPresent()) {
+                // Another node already fulfilled this key; that booking stands and this
+                // entry's seats were never written
+                duplicates.incrementAndGet();
+                discarded(entry);
+                return;
+            }
+            entry.setIdempotencyKey(null);
+            bookingJournalWriter.reject(entry);
+            rejected.incrementAndGet();
+            discarded(entry);
+        } catch (SeatAlreadyBookedException e) {
+            entry.setIdempotencyKey(null);
+            bookingJournalWriter.reject(entry);
+            rejected.incrementAndGet();
+            discarded(entry);
+        }
+    }
+
+    private void applied(BookingJournalEntry entry) {
+        seatInventoryService.removeUnflushed(entry.getShowId(), entry.getSeatLabels());
+        seatInventoryService.markPersisted(entry.getShowId(), entry.getSeatLabels());
+        seatMapCache.invalidate(entry.getShowId());
+        finished(entry);
+    }
+
+    /**
+     * The seats were not written, so they are still free in MySQL; reload the show
+     * from the database rather than keep them taken in memory.
+     */
+    private void discarded(BookingJournalEntry entry) {
+        seatInventoryService.removeUnflushed(entry.getShowId(), entry.getSeatLabels());
+        seatInventoryService.evict(entry.getShowId());
+        finished(entry);
+    }
+
+    private void finished(BookingJournalEntry entry) {
+        journal.markApplied(entry.getSeq());
+        flushed.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        if (isEnabled()) {
+            stats.put("accepted", accepted.get());
+            stats.put("flushed", flushed.get());
+            stats.put("rejected", rejected.get());
+            stats.put("duplicates", duplicates.get());
+            stats.put("pending", unflushed.size());
+            stats.put("fsyncs", journal.getFsyncCount());
+            stats.put("records", journal.getRecordCount());
+            stats.put("segments", journal.getSegmentCount());
+        }
+        return stats;
+    }
+
+    /**
+     * Flushes what it can on shutdown; anything left stays in the journal for replay.
+     */
+    @PreDestroy
+    public void close() {
+        if (!isEnabled()) {
+            return;
+        }
+        journal.close();
+        flush();
+    }
+}
@@ -0,0 +1,81 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.BookingJournalEntry;
+import com.revature.bookingservice.entity.Booking;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import com.revature.bookingservice.repository.BookingRepository;
+import com.revature.bookingservice.repository.SeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies journaled bookings to MySQL, skipping references that are already stored.
+ */
+@Service
+public class BookingJournalWriter {
+
+    public static final String REFUND_PENDING = "REFUND_PENDING";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowAvailabilityService showAvailabilityService;
+
+    @Autowired
+    private BookingStatsService bookingStatsService;
+
+    /**
+     * Writes the whole batch in one transaction. Throws, rolling everything back,
+     * if any entry's seats are no longer free in the database.
+     */
+    @Transactional
+    public void apply(List<BookingJournalEntry> entries) {
+        for (BookingJournalEntry entry : entries) {
+            if (bookingRepository.existsByBookingReference(entry.getBookingReference())) {
+                continue;
+            }
+            if (seatRepository.markUnavailable(entry.getSeatIds(), LocalDateTime.now()) != entry.getSeatIds().size()) {
+                throw new SeatAlreadyBookedException("Seats for booking " + entry.getBookingReference() + " were taken in the database");
+            }
+            // The seats are won; the denormalized count follows them even if it has drifted
+            showAvailabilityService.decrementClamped(entry.getShowId(), entry.getSeatIds().size());
+            Booking saved = bookingRepository.save(toBooking(entry, Booking.BookingStatus.CONFIRMED, "COMPLETED"));
+            bookingStatsService.recordCreated(saved);
+        }
+    }
+
+    /**
+     * Stores a booking that was confirmed from the journal but lost its seats to a
+     * writer outside this node, cancelled and flagged for a refund.
+     */
+    @Transactional
+    public void reject(BookingJournalEntry entry) {
+        if (bookingRepository.existsByBookingReference(entry.getBookingReference())) {
+            return;
+        }
+        Booking saved = bookingRepository.save(toBooking(entry, Booking.BookingStatus.CANCELLED, REFUND_PENDING));
+        bookingStatsService.recordCreated(saved);
+    }
+
+    public static Booking toBooking(BookingJournalEntry entry, Booking.BookingStatus status, String paymentStatus) {
+        Booking booking = new Booking();
+        booking.setBookingReference(entry.getBookingReference());
+        booking.setIdempotencyKey(entry.getIdempotencyKey());
+        booking.setRequestHash(entry.getRequestHash());
+        booking.setUserId(entry.getUserId());
+        booking.setShowId(entry.getShowId());
+        booking.setTotalSeats(entry.getSeatIds().size());
+        booking.setTotalAmount(entry.getTotalAmount());
+        booking.setBookingStatus(status);
+        booking.setPaymentStatus(paymentStatus);
+        return booking;
+    }
+}
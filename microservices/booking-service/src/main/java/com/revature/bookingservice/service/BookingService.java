@@ -1,12 +1,22 @@
 package com.revature.bookingservice.service;
 
+import com.revature.bookingservice.dto.BookingDTO;
+import com.revature.bookingservice.dto.BookingPageDTO;
+import com.revature.bookingservice.dto.PriceQuote;
+import com.revature.bookingservice.dto.ShowSummaryDTO;
 import com.revature.bookingservice.entity.Booking;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
 import com.revature.bookingservice.repository.BookingRepository;
 import com.revature.bookingservice.repository.ShowRepository;
+import com.revature.bookingservice.util.BookingReferenceGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -18,41 +28,71 @@ public class BookingService {
     @Autowired
     private ShowRepository showRepository;
 
-    public List<java.util.Map<String, Object>> getAllBookings() {
-        List<Booking> bookings = bookingRepository.findAll(Sort.by(Sort.Direction.DESC, "bookingDate"));
-        return bookings.stream().map(this::enrichBookingWithShow).collect(java.util.stream.Collectors.toList());
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Newest bookings first, paged by keyset on (bookingDate, bookingId) so every
+     * page is an index range scan no matter how deep the caller has paged. The
+     * cursor is opaque to clients; pass back {@code nextCursor} to continue.
+     */
+    public BookingPageDTO getBookingsPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<Booking> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findAllByOrderByBookingDateDescBookingIdDesc(firstRows);
+        } else {
+            String[] key = decodeCursor(cursor);
+            bookings = bookingRepository.findPageBefore(LocalDateTime.parse(key[0]), Long.valueOf(key[1]), firstRows);
+        }
+
+        boolean hasMore = bookings.size() > pageSize;
+        if (hasMore) {
+            bookings = bookings.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? encodeCursor(bookings.get(pageSize - 1)) : null;
+        return new BookingPageDTO(toBookingDTOs(bookings), nextCursor, hasMore);
     }
 
-    public List<java.util.Map<String, Object>> getUserBookings(Long userId) {
-        List<Booking> bookings = bookingRepository.findByUserIdOrderByBookingDateDesc(userId);
-        return bookings.stream().map(this::enrichBookingWithShow).collect(java.util.stream.Collectors.toList());
+    private String encodeCursor(Booking last) {
+        String key = last.getBookingDate() + "|" + last.getBookingId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
     }
 
-    private java.util.Map<String, Object> enrichBookingWithShow(Booking booking) {
-        java.util.Map<String, Object> enriched = new java.util.HashMap<>();
-        enriched.put("bookingId", booking.getBookingId());
-        enriched.put("userId", booking.getUserId());
-        enriched.put("showId", booking.getShowId());
-        enriched.put("bookingReference", booking.getBookingReference());
-        enriched.put("totalSeats", booking.getTotalSeats());
-        enriched.put("totalAmount", booking.getTotalAmount());
-        enriched.put("bookingStatus", booking.getBookingStatus().toString());
-        enriched.put("paymentStatus", booking.getPaymentStatus());
-        enriched.put("bookingDate", booking.getBookingDate());
-        enriched.put("isCancelled", booking.getBookingStatus() == Booking.BookingStatus.CANCELLED);
-        
-        // Add show details
-        if (booking.getShowId() != null) {
-            showRepository.findById(booking.getShowId()).ifPresent(show -> {
-                java.util.Map<String, Object> showData = new java.util.HashMap<>();
-                showData.put("showDate", show.getShowDate());
-                showData.put("showTime", show.getShowTime());
-                showData.put("basePrice", show.getBasePrice());
-                enriched.put("show", showData);
-            });
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (key.length == 2) {
+                LocalDateTime.parse(key[0]);
+                Long.parseLong(key[1]);
+                return key;
+            }
+        } catch (RuntimeException e) {
+            // fall through
         }
-        
-        return enriched;
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    public List<BookingDTO> getUserBookings(Long userId) {
+        List<Booking> bookings = bookingRepository.findByUserIdOrderByBookingDateDesc(userId);
+        return toBookingDTOs(bookings);
+    }
+
+    // One projection query for all distinct shows instead of a lookup per booking
+    private List<BookingDTO> toBookingDTOs(List<Booking> bookings) {
+        java.util.Set<Long> showIds = bookings.stream()
+            .map(Booking::getShowId)
+            .filter(java.util.Objects::nonNull)
+            .collect(java.util.stream.Collectors.toSet());
+        java.util.Map<Long, ShowSummaryDTO> shows = showIds.isEmpty()
+            ? java.util.Collections.emptyMap()
+            : showRepository.findSummariesByShowIdIn(showIds).stream()
+                .collect(java.util.stream.Collectors.toMap(ShowSummaryDTO::getShowId, show -> show));
+        return bookings.stream()
+            .map(booking -> BookingDTO.from(booking, booking.getShowId() != null ? shows.get(booking.getShowId()) : null))
+            .collect(java.util.stream.Collectors.toList());
     }
 
     public Booking getBookingById(Long id) {
@@ -60,89 +100,92 @@ public class BookingService {
             .orElseThrow(() -> new RuntimeException("Booking not found"));
     }
 
-    @org.springframework.beans.factory.annotation.Autowired
-    private com.revature.bookingservice.repository.SeatRepository seatRepository;
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private ShowAvailabilityService showAvailabilityService;
+
+    @Autowired
+    private BookingReferenceGenerator bookingReferenceGenerator;
+
+    @Autowired
+    private BookingStatsService bookingStatsService;
+
+    @Autowired
+    private PricingEngine pricingEngine;
 
     public java.util.Map<String, Object> getBookingStats() {
-        List<Booking> allBookings = bookingRepository.findAll();
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        
-        java.math.BigDecimal totalRevenue = allBookings.stream()
-            .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CONFIRMED)
-            .map(Booking::getTotalAmount)
-            .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-        
-        long confirmedCount = allBookings.stream()
-            .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CONFIRMED)
-            .count();
-        
-        long pendingCount = allBookings.stream()
-            .filter(b -> b.getBookingStatus() == Booking.BookingStatus.PENDING)
-            .count();
-        
-        long cancelledCount = allBookings.stream()
-            .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CANCELLED)
-            .count();
-        
-        long incompletePaymentCount = allBookings.stream()
-            .filter(b -> !"COMPLETED".equals(b.getPaymentStatus()))
-            .count();
-        
-        stats.put("totalRevenue", totalRevenue);
-        stats.put("totalBookings", allBookings.size());
-        stats.put("cancelledPayments", incompletePaymentCount);
-        
-        java.util.Map<String, Long> bookingsByStatus = new java.util.HashMap<>();
-        bookingsByStatus.put("confirmed", confirmedCount);
-        bookingsByStatus.put("pending", pendingCount);
-        bookingsByStatus.put("cancelled", cancelledCount);
-        stats.put("bookingsByStatus", bookingsByStatus);
-        
-        return stats;
+        return bookingStatsService.getBookingStats();
     }
 
+    @Transactional
     public Booking createBooking(java.util.Map<String, Object> bookingData) {
+        return createBooking(bookingData, null, null);
+    }
+
+    @Transactional
+    public Booking createBooking(java.util.Map<String, Object> bookingData, String idempotencyKey, String requestHash) {
         Booking booking = new Booking();
+        booking.setIdempotencyKey(idempotencyKey);
+        booking.setRequestHash(requestHash);
         booking.setUserId(Long.parseLong(bookingData.get("userId").toString()));
         Long showId = Long.parseLong(bookingData.get("showId").toString());
         booking.setShowId(showId);
-        booking.setTotalAmount(new java.math.BigDecimal(bookingData.get("totalAmount").toString()));
-        booking.setBookingReference("BK" + System.currentTimeMillis());
+        booking.setBookingReference(bookingReferenceGenerator.nextReference());
         
-        // Get seat numbers and lock them
+        // Get seat numbers and lock them; every booking names its seats so it can be priced here
         Object seatNumbersObj = bookingData.get("seatNumbers");
-        int totalSeats = 1;
-        if (seatNumbersObj instanceof java.util.List) {
-            java.util.List<?> seatNumbers = (java.util.List<?>) seatNumbersObj;
-            totalSeats = seatNumbers.size();
-            final int seatsBooked = totalSeats;
-            
-            // Lock each seat
-            for (Object seatLabel : seatNumbers) {
-                String seatStr = seatLabel.toString();
-                String rowLabel = seatStr.replaceAll("\\d", "");
-                Integer seatNumber = Integer.parseInt(seatStr.replaceAll("\\D", ""));
-                
-                // Find and lock the seat
-                java.util.List<com.revature.bookingservice.entity.Seat> seats = 
-                    seatRepository.findByShowIdAndRowLabelAndSeatNumber(showId, rowLabel, seatNumber);
-                if (!seats.isEmpty()) {
-                    com.revature.bookingservice.entity.Seat seat = seats.get(0);
-                    seat.setIsAvailable(false);
-                    seatRepository.save(seat);
-                }
-            }
-            
-            // Update show available seats
-            showRepository.findById(showId).ifPresent(show -> {
-                show.setAvailableSeats(show.getAvailableSeats() - seatsBooked);
-                showRepository.save(show);
-            });
+        if (!(seatNumbersObj instanceof java.util.List) || ((java.util.List<?>) seatNumbersObj).isEmpty()) {
+            throw new IllegalArgumentException("seatNumbers is required");
         }
+        java.util.List<String> seatLabels = ((java.util.List<?>) seatNumbersObj).stream()
+            .map(Object::toString)
+            .collect(java.util.stream.Collectors.toList());
+        PriceQuote quote = pricingEngine.quote(showId, seatLabels);
+        PricingEngine.checkCharged(quote, bookingData.get("totalAmount"));
+        booking.setTotalAmount(quote.getTotalAmount());
+        int totalSeats = seatInventoryService.claimSeats(showId, seatLabels).size();
+        decrementAvailableSeats(showId, totalSeats);
         booking.setTotalSeats(totalSeats);
         
         booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
         booking.setPaymentStatus("COMPLETED");
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        bookingStatsService.recordCreated(saved);
+        return saved;
+    }
+
+    @Transactional
+    public Booking confirmHold(String holdId, java.util.Map<String, Object> bookingData) {
+        Long userId = bookingData.get("userId") != null ? Long.parseLong(bookingData.get("userId").toString()) : null;
+        SeatHold held = seatHoldService.getHold(holdId, userId);
+        PriceQuote quote = pricingEngine.quoteHeld(held.getShowId(), held.getSeatLabels());
+        PricingEngine.checkCharged(quote, bookingData.get("totalAmount"));
+        java.math.BigDecimal totalAmount = quote.getTotalAmount();
+        SeatHold hold = seatHoldService.takeHold(holdId);
+        int totalSeats = seatInventoryService.claimHeldSeats(hold).size();
+        decrementAvailableSeats(hold.getShowId(), totalSeats);
+
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setShowId(hold.getShowId());
+        booking.setTotalAmount(totalAmount);
+        booking.setBookingReference(bookingReferenceGenerator.nextReference());
+        booking.setTotalSeats(totalSeats);
+        booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setPaymentStatus("COMPLETED");
+        Booking saved = bookingRepository.save(booking);
+        bookingStatsService.recordCreated(saved);
+        return saved;
+    }
+
+    private void decrementAvailableSeats(Long showId, int seatsBooked) {
+        if (!showAvailabilityService.tryDecrement(showId, seatsBooked)) {
+            throw new SeatAlreadyBookedException("Not enough seats available for show " + showId);
+        }
     }
 }
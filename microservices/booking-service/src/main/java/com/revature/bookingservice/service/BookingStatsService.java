@@ -0,0 +1,100 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.BookingStatsBucket;
+import com.revature.bookingservice.entity.Booking;
+import com.revature.bookingservice.entity.BookingStatsCounter;
+import com.revature.bookingservice.repository.BookingRepository;
+import com.revature.bookingservice.repository.BookingStatsCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Booking totals kept as counters updated with each booking and rebuilt periodically.
+ */
+@Service
+public class BookingStatsService {
+
+    @Autowired
+    private BookingStatsCounterRepository counterRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${booking.stats.counter-slots:8}")
+    private int counterSlots;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Booking booking) {
+        adjust(booking.getBookingStatus(), booking.getPaymentStatus(), 1, booking.getTotalAmount());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBookingStats() {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        long totalBookings = 0;
+        long incompletePaymentCount = 0;
+        Map<Booking.BookingStatus, Long> countsByStatus = new HashMap<>();
+        for (BookingStatsBucket bucket : counterRepository.sumBuckets()) {
+            long count = bucket.getBookingCount();
+            totalBookings += count;
+            countsByStatus.merge(bucket.getBookingStatus(), count, Long::sum);
+            if (bucket.getBookingStatus() == Booking.BookingStatus.CONFIRMED) {
+                totalRevenue = totalRevenue.add(bucket.getTotalAmount());
+            }
+            if (!"COMPLETED".equals(bucket.getPaymentStatus())) {
+                incompletePaymentCount += count;
+            }
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalRevenue", totalRevenue);
+        stats.put("totalBookings", totalBookings);
+        stats.put("cancelledPayments", incompletePaymentCount);
+
+        Map<String, Long> bookingsByStatus = new HashMap<>();
+        bookingsByStatus.put("confirmed", countsByStatus.getOrDefault(Booking.BookingStatus.CONFIRMED, 0L));
+        bookingsByStatus.put("pending", countsByStatus.getOrDefault(Booking.BookingStatus.PENDING, 0L));
+        bookingsByStatus.put("cancelled", countsByStatus.getOrDefault(Booking.BookingStatus.CANCELLED, 0L));
+        stats.put("bookingsByStatus", bookingsByStatus);
+        return stats;
+    }
+
+    /**
+     * Rebuilds every counter from the bookings table. The counters are deleted
+     * first so their row locks are held while bookings are aggregated: writers
+     * that already bumped a counter have committed and are included, and writers
+     * still in flight wait and apply their increment on top of the new totals.
+     */
+    @Scheduled(fixedDelayString = "${booking.stats.reconcile-ms:600000}")
+    @Transactional
+    public void reconcile() {
+        counterRepository.deleteAllCounters();
+        List<BookingStatsCounter> counters = new ArrayList<>();
+        for (BookingStatsBucket bucket : bookingRepository.aggregateByStatus()) {
+            BigDecimal amount = bucket.getTotalAmount() != null ? bucket.getTotalAmount() : BigDecimal.ZERO;
+            counters.add(new BookingStatsCounter(statKey(bucket.getBookingStatus(), bucket.getPaymentStatus(), 0),
+                bucket.getBookingStatus(), bucket.getPaymentStatus(), 0, bucket.getBookingCount(), amount));
+        }
+        counterRepository.saveAll(counters);
+    }
+
+    private void adjust(Booking.BookingStatus status, String paymentStatus, long count, BigDecimal amount) {
+        int slot = ThreadLocalRandom.current().nextInt(Math.max(1, counterSlots));
+        counterRepository.increment(statKey(status, paymentStatus, slot), status.name(), paymentStatus, slot, count, amount);
+    }
+
+    private static String statKey(Booking.BookingStatus status, String paymentStatus, int slot) {
+        return status + "|" + (paymentStatus != null ? paymentStatus : "") + "|" + slot;
+    }
+}
@@ -0,0 +1,298 @@
+package com.revature.bookingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.bookingservice.dto.EventDTO;
+import com.revature.bookingservice.dto.MovieDTO;
+import com.revature.bookingservice.dto.ScreenDTO;
+import com.revature.bookingservice.dto.VenueDTO;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import com.revature.bookingservice.util.FrequencySketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Typed, cached reads of movies, events, venues and screens from the catalog services.
+ */
+@Service
+public class CatalogClient {
+
+    public static final class CatalogType<T> {
+        public static final CatalogType<MovieDTO> MOVIE = new CatalogType<>("MOVIE", "/api/movies/batch", MovieDTO.class);
+        public static final CatalogType<EventDTO> EVENT = new CatalogType<>("EVENT", "/api/events/batch", EventDTO.class);
+        public static final CatalogType<VenueDTO> VENUE = new CatalogType<>("VENUE", "/api/venues/batch", VenueDTO.class);
+        public static final CatalogType<ScreenDTO> SCREEN = new CatalogType<>("SCREEN", "/api/venues/screens/batch", ScreenDTO.class);
+
+        private static final List<CatalogType<?>> VALUES = List.of(MOVIE, EVENT, VENUE, SCREEN);
+
+        private final String name;
+        private final String batchPath;
+        private final Class<T> dtoClass;
+
+        private CatalogType(String name, String batchPath, Class<T> dtoClass) {
+            this.name = name;
+            this.batchPath = batchPath;
+            this.dtoClass = dtoClass;
+        }
+
+        public static CatalogType<?> valueOf(String name) {
+            for (CatalogType<?> type : VALUES) {
+                if (type.name.equals(name)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown catalog type: " + name);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    @Qualifier("catalogRestTemplate")
+    private RestTemplate catalogRestTemplate;
+
+    @Autowired
+    @Qualifier("catalogLookupExecutor")
+    private TaskExecutor catalogLookupExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${booking.catalog.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${booking.catalog.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${booking.catalog.cache.refresh-after-seconds:300}")
+    private long refreshAfterSeconds;
+
+    @Value("${booking.catalog.cache.not-found-ttl-seconds:30}")
+    private long notFoundTtlSeconds;
+
+    @Value("${services.movie-service.url:http://localhost:8082}")
+    private String movieServiceUrl;
+
+    @Value("${services.venue-service.url:http://localhost:8083}")
+    private String venueServiceUrl;
+
+    private final int maxEntries;
+
+    // Access-ordered, so the first entry is the least recently used; guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+
+    private final FrequencySketch sketch;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notFoundHits = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    public CatalogClient(@Value("${booking.catalog.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    public <T> T get(CatalogType<T> type, Long id) {
+        return lookupAll(type, List.of(id)).get(id).join();
+    }
+
+    /**
+     * Returns a future per distinct id. Cached entries complete immediately; the rest
+     * are loaded with one batch request per 500 ids, started before this returns.
+     * A future fails with {@link ResourceNotFoundException} for an unknown id.
+     */
+    public <T> Map<Long, CompletableFuture<T>> lookupAll(CatalogType<T> type, Collection<Long> ids) {
+        long now = System.currentTimeMillis();
+        Map<Long, CompletableFuture<T>> lookups = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            String key = key(type, id);
+            Entry entry = read(key);
+            if (entry != null && entry.value == null && now - entry.loadedAt <= notFoundTtlSeconds * 1000) {
+                notFoundHits.increment();
+                lookups.put(id, CompletableFuture.failedFuture(notFound(type, id)));
+                continue;
+            }
+            if (entry == null || entry.value == null || now - entry.loadedAt > ttlSeconds * 1000) {
+                misses.increment();
+                missing.add(id);
+                continue;
+            }
+            hits.increment();
+            lookups.put(id, CompletableFuture.completedFuture(type.dtoClass.cast(entry.value)));
+            if (now - entry.loadedAt > refreshAfterSeconds * 1000 && refreshing.add(key)) {
+                stale.add(id);
+            }
+        }
+
+        lookups.putAll(load(type, missing));
+        if (!stale.isEmpty()) {
+            refreshes.add(stale.size());
+            load(type, stale).forEach((id, lookup) ->
+                lookup.whenComplete((value, error) -> refreshing.remove(key(type, id))));
+        }
+        return lookups;
+    }
+
+    public void invalidate(CatalogType<?> type, Long id) {
+        synchronized (entries) {
+            entries.remove(key(type, id));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("notFoundHits", notFoundHits.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("admissionRejections", rejections.sum());
+        stats.put("loadFailures", loadFailures.sum());
+        return stats;
+    }
+
+    private <T> Map<Long, CompletableFuture<T>> load(CatalogType<T> type, List<Long> ids) {
+        Map<Long, CompletableFuture<T>> lookups = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            String url = baseUrl(type) + type.batchPath + "?ids="
+                + chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+            CompletableFuture<Map<Long, T>> batch;
+            try {
+                batch = CompletableFuture.supplyAsync(() -> fetchBatch(type, chunk, url), catalogLookupExecutor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                batch = CompletableFuture.failedFuture(e);
+            }
+            batch.whenComplete((found, error) -> {
+                if (error != null) {
+                    loadFailures.increment();
+                }
+            });
+            for (Long id : chunk) {
+                lookups.put(id, batch.thenApply(found -> {
+                    T data = found.get(id);
+                    if (data == null) {
+                        throw notFound(type, id);
+                    }
+                    return data;
+                }));
+            }
+        }
+        return lookups;
+    }
+
+    private <T> Map<Long, T> fetchBatch(CatalogType<T> type, List<Long> requested, String url) {
+        Map<?, ?> response = catalogRestTemplate.getForObject(url, Map.class);
+        if (response == null || !(response.get("data") instanceof Map)) {
+            throw new ResourceNotFoundException("No " + type.name().toLowerCase() + " data returned");
+        }
+        Map<?, ?> data = (Map<?, ?>) response.get("data");
+        long loadedAt = System.currentTimeMillis();
+        Map<Long, T> found = new HashMap<>();
+        for (Long id : requested) {
+            Object value = data.get(String.valueOf(id));
+            T dto = value != null ? objectMapper.convertValue(value, type.dtoClass) : null;
+            if (dto != null) {
+                found.put(id, dto);
+            }
+            // A null value remembers that the catalog has no such id
+            store(key(type, id), new Entry(dto, loadedAt));
+        }
+        return found;
+    }
+
+    private Entry read(String key) {
+        synchronized (entries) {
+            sketch.increment(key);
+            return entries.get(key);
+        }
+    }
+
+    private void store(String key, Entry entry) {
+        synchronized (entries) {
+            if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                Map.Entry<String, Entry> victim = entries.entrySet().iterator().next();
+                if (sketch.frequency(key) <= sketch.frequency(victim.getKey())) {
+                    rejections.increment();
+                    return;
+                }
+                entries.remove(victim.getKey());
+                evictions.increment();
+            }
+            entries.put(key, entry);
+        }
+    }
+
+    private static ResourceNotFoundException notFound(CatalogType<?> type, Long id) {
+        return new ResourceNotFoundException(type.name().toLowerCase() + " " + id + " not found");
+    }
+
+    private String baseUrl(CatalogType<?> type) {
+        return type == CatalogType.MOVIE || type == CatalogType.EVENT ? movieServiceUrl : venueServiceUrl;
+    }
+
+    private static String key(CatalogType<?> type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long loadedAt;
+
+        private Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
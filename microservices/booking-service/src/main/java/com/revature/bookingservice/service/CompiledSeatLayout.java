@@ -0,0 +1,169 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A screen's {@code seatLayout} JSON flattened into per-seat arrays of row, number and type.
+ */
+public final class CompiledSeatLayout {
+
+    private static final Seat.SeatType[] SEAT_TYPES = Seat.SeatType.values();
+
+    private final String[] rowLabels;
+    private final int[] rowOf;
+    private final short[] seatNumberOf;
+    private final byte[] seatTypeOf;
+
+    private CompiledSeatLayout(String[] rowLabels, int[] rowOf, short[] seatNumberOf, byte[] seatTypeOf) {
+        this.rowLabels = rowLabels;
+        this.rowOf = rowOf;
+        this.seatNumberOf = seatNumberOf;
+        this.seatTypeOf = seatTypeOf;
+    }
+
+    public int seatCount() {
+        return rowOf.length;
+    }
+
+    public String rowLabel(int seat) {
+        return rowLabels[rowOf[seat]];
+    }
+
+    public int seatNumber(int seat) {
+        return seatNumberOf[seat];
+    }
+
+    public Seat.SeatType seatType(int seat) {
+        return SEAT_TYPES[seatTypeOf[seat]];
+    }
+
+    /**
+     * Rows of {@code seatsPerRow} regular seats labelled A..Z, AA, AB and so on,
+     * for screens without a usable layout.
+     */
+    public static CompiledSeatLayout grid(int totalSeats, int seatsPerRow) {
+        Builder builder = new Builder();
+        int rows = (totalSeats + seatsPerRow - 1) / seatsPerRow;
+        for (int row = 0; row < rows; row++) {
+            int seatsInRow = Math.min(seatsPerRow, totalSeats - row * seatsPerRow);
+            builder.addRow(rowName(row), seatsInRow, Seat.SeatType.REGULAR, Set.of());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the venue form's {@code rows}, {@code seatsPerRow} and {@code disabledSeats},
+     * plus optional {@code seatTypes} and {@code sections}.
+     */
+    public static CompiledSeatLayout compile(Map<?, ?> layout) {
+        Map<?, ?> seatsPerRow = map(layout.get("seatsPerRow"));
+        Map<?, ?> seatTypes = map(layout.get("seatTypes"));
+        Set<String> disabled = new HashSet<>();
+        for (Object label : list(layout.get("disabledSeats"))) {
+            disabled.add(label.toString());
+        }
+
+        Builder builder = new Builder();
+        List<?> sections = list(layout.get("sections"));
+        if (sections.isEmpty()) {
+            for (Object row : list(layout.get("rows"))) {
+                String label = row.toString();
+                builder.addRow(label, count(seatsPerRow, label, label),
+                    seatType(seatTypes, label, label, Seat.SeatType.REGULAR), disabled);
+            }
+        } else {
+            for (Object sectionObject : sections) {
+                Map<?, ?> section = map(sectionObject);
+                String prefix = section.get("prefix") != null ? section.get("prefix").toString() : "";
+                Seat.SeatType sectionType = seatType(section.get("seatType"), Seat.SeatType.REGULAR);
+                for (Object row : list(section.get("rows"))) {
+                    String label = prefix + row;
+                    builder.addRow(label, count(seatsPerRow, label, row.toString()),
+                        seatType(seatTypes, label, row.toString(), sectionType), disabled);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    static String rowName(int row) {
+        StringBuilder name = new StringBuilder();
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) {
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return name.toString();
+    }
+
+    private static int count(Map<?, ?> seatsPerRow, String label, String row) {
+        Object count = seatsPerRow.containsKey(label) ? seatsPerRow.get(label) : seatsPerRow.get(row);
+        return count != null ? Integer.parseInt(count.toString()) : 0;
+    }
+
+    private static Seat.SeatType seatType(Map<?, ?> seatTypes, String label, String row, Seat.SeatType fallback) {
+        Object type = seatTypes.containsKey(label) ? seatTypes.get(label) : seatTypes.get(row);
+        return seatType(type, fallback);
+    }
+
+    private static Seat.SeatType seatType(Object type, Seat.SeatType fallback) {
+        return type != null ? Seat.SeatType.valueOf(type.toString().trim().toUpperCase(Locale.ROOT)) : fallback;
+    }
+
+    private static Map<?, ?> map(Object value) {
+        return value instanceof Map ? (Map<?, ?>) value : Map.of();
+    }
+
+    private static List<?> list(Object value) {
+        return value instanceof Collection ? new ArrayList<>((Collection<?>) value) : List.of();
+    }
+
+    private static final class Builder {
+        private final List<String> rowLabels = new ArrayList<>();
+        private final Set<String> seenRows = new HashSet<>();
+        private int[] rowOf = new int[256];
+        private short[] seatNumberOf = new short[256];
+        private byte[] seatTypeOf = new byte[256];
+        private int size;
+
+        private void addRow(String label, int seats, Seat.SeatType seatType, Set<String> disabled) {
+            if (label.isEmpty() || Character.isDigit(label.charAt(label.length() - 1))) {
+                throw new IllegalArgumentException("Row label must not end in a digit: " + label);
+            }
+            if (!seenRows.add(label)) {
+                throw new IllegalArgumentException("Duplicate row label in seat layout: " + label);
+            }
+            if (seats < 0 || seats > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid seat count for row " + label + ": " + seats);
+            }
+            int row = rowLabels.size();
+            rowLabels.add(label);
+            for (int seatNumber = 1; seatNumber <= seats; seatNumber++) {
+                if (disabled.contains(label + seatNumber)) {
+                    continue;
+                }
+                if (size == rowOf.length) {
+                    rowOf = Arrays.copyOf(rowOf, size * 2);
+                    seatNumberOf = Arrays.copyOf(seatNumberOf, size * 2);
+                    seatTypeOf = Arrays.copyOf(seatTypeOf, size * 2);
+                }
+                rowOf[size] = row;
+                seatNumberOf[size] = (short) seatNumber;
+                seatTypeOf[size] = (byte) seatType.ordinal();
+                size++;
+            }
+        }
+
+        private CompiledSeatLayout build() {
+            return new CompiledSeatLayout(rowLabels.toArray(new String[0]),
+                Arrays.copyOf(rowOf, size), Arrays.copyOf(seatNumberOf, size), Arrays.copyOf(seatTypeOf, size));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.util.GradientConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One adaptive concurrency limiter per endpoint class, e.g. {@code seats:write}.
+ */
+@Service
+public class ConcurrencyLimitService {
+
+    @Value("${booking.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${booking.concurrency.min-limit:4}")
+    private int minLimit;
+
+    @Value("${booking.concurrency.max-limit:150}")
+    private int maxLimit;
+
+    @Value("${booking.concurrency.window-ms:1000}")
+    private long windowMs;
+
+    @Value("${booking.concurrency.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private final ConcurrentHashMap<String, GradientConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public GradientConcurrencyLimiter getLimiter(String endpointClass) {
+        return limiters.computeIfAbsent(endpointClass,
+            key -> new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, windowMs));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        limiters.forEach((endpointClass, limiter) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("limit", limiter.getLimit());
+            entry.put("inFlight", limiter.getInFlight());
+            entry.put("rejected", limiter.getRejectedCount());
+            entry.put("baselineRttMs", limiter.getBaselineRttMillis());
+            entry.put("recentRttMs", limiter.getRecentRttMillis());
+            stats.put(endpointClass, entry);
+        });
+        return stats;
+    }
+}
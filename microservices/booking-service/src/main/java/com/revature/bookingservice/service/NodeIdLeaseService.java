@@ -0,0 +1,89 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.NodeIdLease;
+import com.revature.bookingservice.repository.NodeIdLeaseRepository;
+import com.revature.bookingservice.util.BookingReferenceGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Leases this instance a booking reference node id from {@code booking_node_leases}.
+ */
+@Service
+public class NodeIdLeaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeIdLeaseService.class);
+
+    @Autowired
+    private NodeIdLeaseRepository nodeIdLeaseRepository;
+
+    @Autowired
+    private BookingReferenceGenerator bookingReferenceGenerator;
+
+    @Value("${booking.reference.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile int leasedNodeId = -1;
+
+    @PostConstruct
+    public void acquire() {
+        if (bookingReferenceGenerator.getNodeId() >= 0) {
+            log.info("Using configured booking reference node id {}", bookingReferenceGenerator.getNodeId());
+            return;
+        }
+        lease();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.reference.lease-renew-ms:60000}")
+    public synchronized void renew() {
+        if (leasedNodeId < 0) {
+            return;
+        }
+        if (nodeIdLeaseRepository.renew(leasedNodeId, owner, System.currentTimeMillis() + leaseSeconds * 1000) == 0) {
+            log.warn("Lost the lease on booking reference node id {}; leasing another", leasedNodeId);
+            lease();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (leasedNodeId >= 0) {
+            nodeIdLeaseRepository.renew(leasedNodeId, owner, 0);
+        }
+    }
+
+    private synchronized void lease() {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + leaseSeconds * 1000;
+        Map<Integer, Long> leases = new HashMap<>();
+        for (NodeIdLease lease : nodeIdLeaseRepository.findAll()) {
+            leases.put(lease.getNodeId(), lease.getExpiresAt());
+        }
+        for (int nodeId = 0; nodeId <= BookingReferenceGenerator.MAX_NODE_ID; nodeId++) {
+            Long leasedUntil = leases.get(nodeId);
+            boolean claimed = leasedUntil == null
+                ? nodeIdLeaseRepository.insertIfAbsent(nodeId, owner, expiresAt) == 1
+                : leasedUntil < now && nodeIdLeaseRepository.claimExpired(nodeId, owner, expiresAt, now) == 1;
+            if (claimed) {
+                leasedNodeId = nodeId;
+                bookingReferenceGenerator.assignNodeId(nodeId);
+                log.info("Leased booking reference node id {}", nodeId);
+                return;
+            }
+        }
+        throw new IllegalStateException("No free booking reference node id; all "
+            + (BookingReferenceGenerator.MAX_NODE_ID + 1) + " are leased");
+    }
+}
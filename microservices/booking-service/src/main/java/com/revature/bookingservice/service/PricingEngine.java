@@ -0,0 +1,200 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.PriceQuote;
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.exception.PriceMismatchException;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import com.revature.bookingservice.repository.ShowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side seat pricing from each show's tiers and the occupancy surge rules.
+ */
+@Service
+public class PricingEngine {
+
+    private static final Seat.SeatType[] SEAT_TYPES = Seat.SeatType.values();
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    private final double[] surgeThresholds;
+
+    private final BigDecimal[] surgeMultipliers;
+
+    // Shows can be edited through another instance, so tables are recompiled after a while
+    @Value("${booking.pricing.table-ttl-ms:60000}")
+    private long tableTtlMs;
+
+    private final ConcurrentHashMap<Long, PriceTable> priceTables = new ConcurrentHashMap<>();
+
+    /**
+     * Surge rules are {@code occupancy:multiplier} pairs, e.g. {@code 0.7:1.1,0.9:1.25}
+     * raises prices by 10% once 70% of seats are gone and by 25% from 90%.
+     */
+    public PricingEngine(@Value("${booking.pricing.surge-rules:0.7:1.10,0.9:1.25}") String surgeRules) {
+        TreeMap<Double, BigDecimal> rules = new TreeMap<>();
+        for (String rule : surgeRules.split(",")) {
+            if (rule.isBlank()) {
+                continue;
+            }
+            String[] parts = rule.trim().split(":");
+            rules.put(Double.parseDouble(parts[0]), new BigDecimal(parts[1]));
+        }
+        surgeThresholds = new double[rules.size()];
+        surgeMultipliers = new BigDecimal[rules.size() + 1];
+        surgeMultipliers[0] = BigDecimal.ONE;
+        int level = 0;
+        for (Map.Entry<Double, BigDecimal> rule : rules.entrySet()) {
+            surgeThresholds[level] = rule.getKey();
+            surgeMultipliers[++level] = rule.getValue();
+        }
+    }
+
+    public PriceQuote quote(Long showId, Collection<String> seatLabels) {
+        return quote(showId, seatLabels, false);
+    }
+
+    /**
+     * Quotes seats the caller already holds. The held seats do not count as occupied,
+     * so the price matches the quote given before they were held.
+     */
+    public PriceQuote quoteHeld(Long showId, Collection<String> seatLabels) {
+        return quote(showId, seatLabels, true);
+    }
+
+    /**
+     * Throws unless {@code chargedAmount}, what the client paid, equals the quoted total.
+     */
+    public static void checkCharged(PriceQuote quote, Object chargedAmount) {
+        if (chargedAmount == null) {
+            throw new IllegalArgumentException("totalAmount is required");
+        }
+        BigDecimal charged = new BigDecimal(chargedAmount.toString());
+        if (charged.compareTo(quote.getTotalAmount()) != 0) {
+            throw new PriceMismatchException("Charged amount " + charged + " does not match the current price "
+                + quote.getTotalAmount() + "; please review the price and try again");
+        }
+    }
+
+    private PriceQuote quote(Long showId, Collection<String> seatLabels, boolean held) {
+        ShowSeatInventory inventory = seatInventoryService.getInventory(showId);
+        int[] positions = inventory.resolve(seatLabels);
+        int excluded = 0;
+        if (held) {
+            for (int position : positions) {
+                if (inventory.isTaken(position)) {
+                    excluded++;
+                }
+            }
+        }
+        int level = surgeLevel(inventory, excluded);
+        long[] prices = priceTable(showId)[level];
+
+        long total = 0;
+        List<PriceQuote.SeatPrice> seats = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            Seat.SeatType seatType = inventory.seatType(position);
+            long price = prices[seatType.ordinal()];
+            total += price;
+            seats.add(new PriceQuote.SeatPrice(inventory.label(position), seatType.name(), BigDecimal.valueOf(price, 2)));
+        }
+        return new PriceQuote(showId, surgeMultipliers[level], BigDecimal.valueOf(total, 2), seats);
+    }
+
+    public void invalidate(Long showId) {
+        priceTables.remove(showId);
+    }
+
+    private int surgeLevel(ShowSeatInventory inventory, int excluded) {
+        int seatCount = inventory.seatCount();
+        if (seatCount == 0) {
+            return 0;
+        }
+        double occupancy = 1.0 - (double) (inventory.availableCount() + excluded) / seatCount;
+        int level = 0;
+        while (level < surgeThresholds.length && occupancy >= surgeThresholds[level]) {
+            level++;
+        }
+        return level;
+    }
+
+    private long[][] priceTable(Long showId) {
+        PriceTable table = priceTables.get(showId);
+        long now = System.currentTimeMillis();
+        if (table == null || now - table.compiledAt >= tableTtlMs) {
+            Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + showId));
+            table = new PriceTable(compile(show), now);
+            priceTables.put(showId, table);
+        }
+        return table.prices;
+    }
+
+    private long[][] compile(Show show) {
+        BigDecimal[] basePrices = new BigDecimal[SEAT_TYPES.length];
+        for (Seat.SeatType seatType : SEAT_TYPES) {
+            basePrices[seatType.ordinal()] = show.getBasePrice();
+        }
+        if (show.getPricingTiers() != null) {
+            for (Map.Entry<String, BigDecimal> tier : show.getPricingTiers().entrySet()) {
+                Seat.SeatType seatType = tierSeatType(tier.getKey());
+                if (seatType != null && tier.getValue() != null) {
+                    basePrices[seatType.ordinal()] = tier.getValue();
+                }
+            }
+        }
+
+        long[][] table = new long[surgeMultipliers.length][SEAT_TYPES.length];
+        for (int level = 0; level < surgeMultipliers.length; level++) {
+            for (int type = 0; type < SEAT_TYPES.length; type++) {
+                table[level][type] = basePrices[type].multiply(surgeMultipliers[level])
+                    .setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            }
+        }
+        return table;
+    }
+
+    // Accepts "VIP", "vip" and "vipPrice" style keys; "standard" is the regular tier.
+    private static Seat.SeatType tierSeatType(String key) {
+        String name = key.trim().toUpperCase(Locale.ROOT);
+        if (name.endsWith("PRICE")) {
+            name = name.substring(0, name.length() - 5);
+        }
+        if ("STANDARD".equals(name)) {
+            return Seat.SeatType.REGULAR;
+        }
+        for (Seat.SeatType seatType : SEAT_TYPES) {
+            if (seatType.name().equals(name)) {
+                return seatType;
+            }
+        }
+        return null;
+    }
+
+    private static final class PriceTable {
+        private final long[][] prices;
+        private final long compiledAt;
+
+        private PriceTable(long[][] prices, long compiledAt) {
+            this.prices = prices;
+            this.compiledAt = compiledAt;
+        }
+    }
+}
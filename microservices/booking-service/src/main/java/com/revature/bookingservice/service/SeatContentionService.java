@@ -0,0 +1,128 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.ShowContentionStats;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs seat claims with bounded retries and counts collisions per show.
+ */
+@Service
+public class SeatContentionService {
+
+    @Value("${booking.claims.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${booking.claims.backoff-ms:25}")
+    private long backoffMs;
+
+    private final ConcurrentHashMap<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the claim in its own transaction, retrying transient failures. Must be
+     * called outside any transaction, or the retry would reuse a doomed one.
+     */
+    public <T> T claim(Long showId, Supplier<T> attempt) {
+        int attempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : Math.max(1, maxAttempts);
+        Counters show = counters(showId);
+        show.attempts.increment();
+        for (int n = 1; ; n++) {
+            try {
+                return attempt.get();
+            } catch (SeatAlreadyBookedException e) {
+                show.conflicts.increment();
+                show.aborts.increment();
+                throw e;
+            } catch (TransientDataAccessException e) {
+                show.conflicts.increment();
+                if (n >= attempts) {
+                    show.aborts.increment();
+                    throw e;
+                }
+                show.retries.increment();
+                backOff(n);
+            } catch (RuntimeException e) {
+                show.aborts.increment();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * For claims made in memory only, such as holds, which handle their own retries.
+     */
+    public void recordAttempt(Long showId) {
+        counters(showId).attempts.increment();
+    }
+
+    public void recordConflict(Long showId, boolean retrying) {
+        Counters show = counters(showId);
+        show.conflicts.increment();
+        if (retrying) {
+            show.retries.increment();
+        }
+    }
+
+    public void recordAbort(Long showId) {
+        counters(showId).aborts.increment();
+    }
+
+    /**
+     * Shows with the most conflicts first.
+     */
+    public List<ShowContentionStats> getHotSpots(int limit) {
+        return counters.entrySet().stream()
+            .map(entry -> entry.getValue().snapshot(entry.getKey()))
+            .sorted(Comparator.comparingLong(ShowContentionStats::getConflicts).reversed())
+            .limit(Math.max(1, limit))
+            .collect(Collectors.toList());
+    }
+
+    public ShowContentionStats getStats(Long showId) {
+        Counters show = counters.get(showId);
+        return show != null ? show.snapshot(showId) : new ShowContentionStats(showId, 0, 0, 0, 0, 0.0);
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private Counters counters(Long showId) {
+        return counters.computeIfAbsent(showId, id -> new Counters());
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = backoffMs << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a seat claim");
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder aborts = new LongAdder();
+
+        private ShowContentionStats snapshot(Long showId) {
+            long attempted = attempts.sum();
+            long aborted = aborts.sum();
+            return new ShowContentionStats(showId, attempted, conflicts.sum(), retries.sum(), aborted,
+                attempted == 0 ? 0.0 : (double) aborted / attempted);
+        }
+    }
+}
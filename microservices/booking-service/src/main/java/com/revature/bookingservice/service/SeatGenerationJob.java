@@ -0,0 +1,65 @@
+package com.revature.bookingservice.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SeatGenerationJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final Long showId;
+    private volatile int totalSeats;
+    private final AtomicInteger generatedSeats = new AtomicInteger();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile Status status = Status.PENDING;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    public SeatGenerationJob(Long showId, int totalSeats) {
+        this.showId = showId;
+        this.totalSeats = totalSeats;
+    }
+
+    public Long getShowId() { return showId; }
+
+    public int getTotalSeats() { return totalSeats; }
+
+    public int getGeneratedSeats() { return generatedSeats.get(); }
+
+    public int getPercentComplete() {
+        return totalSeats == 0 ? 100 : (int) (generatedSeats.get() * 100L / totalSeats);
+    }
+
+    public Status getStatus() { return status; }
+
+    public String getError() { return error; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    void setTotalSeats(int totalSeats) {
+        this.totalSeats = totalSeats;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void addGenerated(int count) {
+        generatedSeats.addAndGet(count);
+    }
+
+    void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
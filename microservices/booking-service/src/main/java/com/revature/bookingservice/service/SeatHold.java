@@ -0,0 +1,51 @@
+package com.revature.bookingservice.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+public class SeatHold {
+
+    private final String holdId;
+    private final Long showId;
+    private final Long userId;
+    private final List<String> seatLabels;
+    private final LocalDateTime expiresAt;
+    private final long expiresAtMillis;
+    private final ShowSeatInventory inventory;
+    private final int[] positions;
+
+    public SeatHold(String holdId, Long showId, Long userId, List<String> seatLabels, long expiresAtMillis,
+                    ShowSeatInventory inventory, int[] positions) {
+        this.holdId = holdId;
+        this.showId = showId;
+        this.userId = userId;
+        this.seatLabels = seatLabels;
+        this.expiresAtMillis = expiresAtMillis;
+        this.expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneId.systemDefault());
+        this.inventory = inventory;
+        this.positions = positions;
+    }
+
+    public String getHoldId() { return holdId; }
+
+    public Long getShowId() { return showId; }
+
+    public Long getUserId() { return userId; }
+
+    public List<String> getSeatLabels() { return seatLabels; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+
+    @JsonIgnore
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    @JsonIgnore
+    public ShowSeatInventory getInventory() { return inventory; }
+
+    @JsonIgnore
+    public int[] getPositions() { return positions; }
+}
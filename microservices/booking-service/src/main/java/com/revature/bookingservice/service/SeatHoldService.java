@@ -0,0 +1,178 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.exception.HoldOwnershipException;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import com.revature.bookingservice.util.HierarchicalTimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived seat holds kept in the in-memory inventory until confirmed or expired.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final int BEST_AVAILABLE_ATTEMPTS = 5;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatMapPublisher seatMapPublisher;
+
+    @Autowired
+    private SeatContentionService seatContentionService;
+
+    @Value("${booking.hold.ttl-seconds:600}")
+    private long holdTtlSeconds;
+
+    private final ConcurrentHashMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+
+    private final HierarchicalTimingWheel<String> expiryWheel;
+
+    public SeatHoldService(@Value("${booking.hold.tick-ms:1000}") long tickMs) {
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMs, 64, System.currentTimeMillis());
+    }
+
+    public SeatHold holdSeats(Long showId, Long userId, List<String> seatLabels) {
+        requireUser(userId);
+        ShowSeatInventory inventory = seatInventoryService.getInventory(showId);
+        int[] positions = inventory.resolve(seatLabels);
+        seatContentionService.recordAttempt(showId);
+        if (!inventory.tryClaim(positions)) {
+            seatContentionService.recordConflict(showId, false);
+            seatContentionService.recordAbort(showId);
+            throw new SeatAlreadyBookedException("One or more selected seats are already booked or held");
+        }
+        return createHold(inventory, userId, positions);
+    }
+
+    /**
+     * Picks the best block of adjacent free seats and holds it. The search and the
+     * claim are retried a few times if another request takes the block first.
+     */
+    public SeatHold holdBestAvailable(Long showId, Long userId, int partySize, Seat.SeatType seatType) {
+        requireUser(userId);
+        ShowSeatInventory inventory = seatInventoryService.getInventory(showId);
+        seatContentionService.recordAttempt(showId);
+        for (int attempt = 0; attempt < BEST_AVAILABLE_ATTEMPTS; attempt++) {
+            int[] positions = inventory.findBestBlock(partySize, seatType);
+            if (positions == null) {
+                break;
+            }
+            if (inventory.tryClaim(positions)) {
+                return createHold(inventory, userId, positions);
+            }
+            seatContentionService.recordConflict(showId, attempt + 1 < BEST_AVAILABLE_ATTEMPTS);
+        }
+        seatContentionService.recordAbort(showId);
+        throw new SeatAlreadyBookedException("No block of " + partySize + " adjacent "
+            + (seatType != null ? seatType + " " : "") + "seats is available");
+    }
+
+    private static void requireUser(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId is required to hold seats");
+        }
+    }
+
+    private SeatHold createHold(ShowSeatInventory inventory, Long userId, int[] positions) {
+        Long showId = inventory.getShowId();
+        List<String> labels = inventory.labels(positions);
+        long expiresAt = System.currentTimeMillis() + holdTtlSeconds * 1000;
+        // Hold ids start with the show id so the gateway can route them to the show's instance
+        SeatHold hold = new SeatHold(showId + "-" + UUID.randomUUID(), showId, userId, labels, expiresAt, inventory, positions);
+        holds.put(hold.getHoldId(), hold);
+        seatMapPublisher.publish(showId, labels, false);
+        if (!expiryWheel.schedule(hold.getHoldId(), expiresAt)) {
+            expire(hold.getHoldId());
+        }
+        return hold;
+    }
+
+    public SeatHold getHold(String holdId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new ResourceNotFoundException("Hold not found or expired: " + holdId);
+        }
+        return hold;
+    }
+
+    /**
+     * Returns the hold only if it belongs to {@code userId}.
+     */
+    public SeatHold getHold(String holdId, Long userId) {
+        SeatHold hold = getHold(holdId);
+        if (userId == null || !userId.equals(hold.getUserId())) {
+            throw new HoldOwnershipException("Hold " + holdId + " does not belong to this user");
+        }
+        return hold;
+    }
+
+    public void releaseHold(String holdId, Long userId) {
+        SeatHold hold = getHold(holdId, userId);
+        if (!holds.remove(holdId, hold)) {
+            throw new ResourceNotFoundException("Hold not found or expired: " + holdId);
+        }
+        hold.getInventory().release(hold.getPositions());
+        seatMapPublisher.publish(hold.getShowId(), hold.getSeatLabels(), true);
+    }
+
+    /**
+     * Removes the hold so that it can no longer expire; the seats stay claimed in
+     * memory and become the caller's responsibility. Inside a transaction the hold
+     * is put back if the transaction rolls back, so the confirmation can be retried.
+     */
+    public SeatHold takeHold(String holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new ResourceNotFoundException("Hold not found or expired: " + holdId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restoreHold(hold);
+                    }
+                }
+            });
+        }
+        return hold;
+    }
+
+    private void restoreHold(SeatHold hold) {
+        holds.put(hold.getHoldId(), hold);
+        // The timing wheel entry is still scheduled; expire now if it already fired
+        if (System.currentTimeMillis() >= hold.getExpiresAtMillis()) {
+            expire(hold.getHoldId());
+        }
+    }
+
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.tick-ms:1000}")
+    public void expireHolds() {
+        expiryWheel.advanceTo(System.currentTimeMillis(), this::expire);
+    }
+
+    private void expire(String holdId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold != null && holds.remove(holdId, hold)) {
+            hold.getInventory().release(hold.getPositions());
+            seatMapPublisher.publish(hold.getShowId(), hold.getSeatLabels(), true);
+        }
+    }
+}
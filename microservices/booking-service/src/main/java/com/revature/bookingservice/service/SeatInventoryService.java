@@ -0,0 +1,212 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.exception.SeatAlreadyBookedException;
+import com.revature.bookingservice.repository.SeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class SeatInventoryService {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatMapPublisher seatMapPublisher;
+
+    @Autowired
+    private SeatMapCache seatMapCache;
+
+    private final ConcurrentHashMap<Long, ShowSeatInventory> inventories = new ConcurrentHashMap<>();
+
+    // Seats accepted through the booking journal that MySQL does not know about yet
+    private final ConcurrentHashMap<Long, Set<String>> unflushed = new ConcurrentHashMap<>();
+
+    @Value("${booking.inventory.reconcile-margin-seconds:5}")
+    private long reconcileMarginSeconds;
+
+    private volatile LocalDateTime reconciledUntil = LocalDateTime.now();
+
+    public ShowSeatInventory getInventory(Long showId) {
+        ShowSeatInventory inventory = inventories.get(showId);
+        if (inventory != null) {
+            return inventory;
+        }
+        // Seats are inserted in layout order, so seat id order preserves row order
+        inventory = ShowSeatInventory.fromSeats(showId, seatRepository.findByShowIdOrderBySeatIdAsc(showId));
+        if (inventory.isEmpty()) {
+            return inventory;
+        }
+        Set<String> pending = unflushed.get(showId);
+        if (pending != null) {
+            for (int position : inventory.resolve(pending)) {
+                inventory.tryClaim(new int[] {position});
+            }
+        }
+        ShowSeatInventory existing = inventories.putIfAbsent(showId, inventory);
+        return existing != null ? existing : inventory;
+    }
+
+    /**
+     * Claims the seats in memory and persists them with a single conditional UPDATE.
+     * If the surrounding transaction does not commit, the in-memory claim is undone.
+     */
+    @Transactional
+    public List<Long> claimSeats(Long showId, Collection<String> labels) {
+        ShowSeatInventory inventory = getInventory(showId);
+        int[] positions = inventory.resolve(labels);
+        if (!inventory.tryClaim(positions)) {
+            throw new SeatAlreadyBookedException("One or more selected seats are already booked");
+        }
+        return persistClaim(showId, inventory, positions, true);
+    }
+
+    /**
+     * Persists seats that were already claimed in memory by a hold.
+     */
+    @Transactional
+    public List<Long> claimHeldSeats(SeatHold hold) {
+        ShowSeatInventory inventory = getInventory(hold.getShowId());
+        if (inventory != hold.getInventory()) {
+            // The snapshot was reloaded while the hold was open, so its bits are gone.
+            return claimSeats(hold.getShowId(), hold.getSeatLabels());
+        }
+        // On rollback the seats stay claimed for the hold, which is put back
+        return persistClaim(hold.getShowId(), inventory, hold.getPositions(), false);
+    }
+
+    private List<Long> persistClaim(Long showId, ShowSeatInventory inventory, int[] positions, boolean releaseOnRollback) {
+        publishOnCompletion(inventory, positions, releaseOnRollback);
+
+        List<Long> seatIds = inventory.seatIds(positions);
+        int updated = seatRepository.markUnavailable(seatIds, LocalDateTime.now());
+        if (updated != seatIds.size()) {
+            // Another writer got to the rows first; our snapshot is stale.
+            evict(showId);
+            throw new SeatAlreadyBookedException("One or more selected seats are already booked");
+        }
+        return seatIds;
+    }
+
+    /**
+     * Remembers seats claimed in memory ahead of the database, so that reloading the
+     * show's inventory does not offer them again before they are flushed.
+     */
+    public void addUnflushed(Long showId, Collection<String> labels) {
+        unflushed.compute(showId, (id, labelSet) -> {
+            Set<String> set = labelSet != null ? labelSet : ConcurrentHashMap.newKeySet();
+            set.addAll(labels);
+            return set;
+        });
+    }
+
+    public void removeUnflushed(Long showId, Collection<String> labels) {
+        unflushed.computeIfPresent(showId, (id, labelSet) -> {
+            labelSet.removeAll(labels);
+            return labelSet.isEmpty() ? null : labelSet;
+        });
+    }
+
+    /**
+     * Records journaled seats as written, if the show's inventory is loaded.
+     */
+    public void markPersisted(Long showId, Collection<String> labels) {
+        ShowSeatInventory inventory = inventories.get(showId);
+        if (inventory != null) {
+            inventory.markPersisted(inventory.resolve(labels));
+        }
+    }
+
+    public Collection<ShowSeatInventory> getLoadedInventories() {
+        return inventories.values();
+    }
+
+    /**
+     * Installs inventories restored from a snapshot. Shows that were loaded in the
+     * meantime keep what they have.
+     */
+    public void restore(Collection<ShowSeatInventory> restored) {
+        for (ShowSeatInventory inventory : restored) {
+            inventories.putIfAbsent(inventory.getShowId(), inventory);
+        }
+    }
+
+    /**
+     * Marks seats booked through other instances as taken here. Shows move between
+     * instances when the gateway's ring changes, and the new owner may already have
+     * the show loaded from before.
+     */
+    @Scheduled(fixedDelayString = "${booking.inventory.reconcile-ms:5000}")
+    public void reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (!inventories.isEmpty()) {
+            Map<Long, Map<Long, Integer>> positionsBySeatId = new HashMap<>();
+            Map<Long, List<String>> newlyTaken = new HashMap<>();
+            for (Seat seat : seatRepository.findByUpdatedAtAfter(reconciledUntil.minusSeconds(reconcileMarginSeconds))) {
+                ShowSeatInventory inventory = inventories.get(seat.getShowId());
+                if (inventory == null || (Boolean.TRUE.equals(seat.getIsAvailable()) && !Boolean.TRUE.equals(seat.getIsBlocked()))) {
+                    continue;
+                }
+                Integer position = positionsBySeatId.computeIfAbsent(seat.getShowId(), id -> inventory.positionsBySeatId())
+                    .get(seat.getSeatId());
+                if (position == null) {
+                    continue;
+                }
+                if (!inventory.isTaken(position)) {
+                    newlyTaken.computeIfAbsent(seat.getShowId(), id -> new ArrayList<>()).add(inventory.label(position));
+                }
+                inventory.applyPersistedState(position, true);
+            }
+            newlyTaken.forEach((showId, labels) -> {
+                seatMapCache.invalidate(showId);
+                seatMapPublisher.publish(showId, labels, false);
+            });
+        }
+        reconciledUntil = startedAt;
+    }
+
+    public void evict(Long showId) {
+        inventories.remove(showId);
+        seatMapCache.invalidate(showId);
+        seatMapPublisher.reset(showId);
+    }
+
+    /**
+     * Announces the claim to seat map viewers once it commits, or undoes it in
+     * memory if it does not and the inventory is still the loaded one.
+     */
+    private void publishOnCompletion(ShowSeatInventory inventory, int[] positions, boolean releaseOnRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    inventory.markPersisted(positions);
+                    seatMapCache.invalidate(inventory.getShowId());
+                    seatMapPublisher.publish(inventory.getShowId(), inventory.labels(positions), false);
+                } else if (releaseOnRollback && inventories.get(inventory.getShowId()) == inventory) {
+                    // An evicted inventory is stale; the next load reads the seats from the database
+                    inventory.release(positions);
+                    seatMapPublisher.publish(inventory.getShowId(), inventory.labels(positions), true);
+                }
+            }
+        });
+    }
+}
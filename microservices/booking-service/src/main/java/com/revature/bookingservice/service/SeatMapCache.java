@@ -0,0 +1,99 @@
+package com.revature.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.bookingservice.dto.ApiResponse;
+import com.revature.bookingservice.entity.Seat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serialized seat map responses keyed by a per-show version that doubles as the ETag.
+ */
+@Service
+public class SeatMapCache {
+
+    public enum View {
+        ALL, AVAILABLE
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public SeatMapCache(@Value("${booking.seat-map-cache.max-entries:2000}") int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public String currentETag(Long showId) {
+        return eTag(showId, version(showId).get());
+    }
+
+    public Entry get(Long showId, View view, Supplier<List<Seat>> loader) {
+        long version = version(showId).get();
+        String key = showId + ":" + view;
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            return entry;
+        }
+
+        String message = view == View.ALL ? "Seats retrieved successfully" : "Available seats retrieved";
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ApiResponse<>(true, message, loader.get()));
+            entry = new Entry(version, eTag(showId, version), body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seat map for show " + showId, e);
+        }
+        if (version(showId).get() == version) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    public void invalidate(Long showId) {
+        version(showId).incrementAndGet();
+    }
+
+    private AtomicLong version(Long showId) {
+        return versions.computeIfAbsent(showId, id -> new AtomicLong());
+    }
+
+    private String eTag(Long showId, long version) {
+        return "\"" + epoch + "-" + showId + "-" + version + "\"";
+    }
+
+    public static final class Entry {
+        private final long version;
+        private final String eTag;
+        private final byte[] body;
+
+        private Entry(long version, String eTag, byte[] body) {
+            this.version = version;
+            this.eTag = eTag;
+            this.body = body;
+        }
+
+        public String getETag() { return eTag; }
+
+        public byte[] getBody() { return body; }
+    }
+}
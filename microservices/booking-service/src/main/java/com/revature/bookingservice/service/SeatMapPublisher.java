@@ -0,0 +1,193 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.SeatMapEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams a show's seat map to viewers over server-sent events: a snapshot, then deltas.
+ */
+@Service
+public class SeatMapPublisher {
+
+    @Value("${booking.seat-stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${booking.seat-stream.max-pending:256}")
+    private int maxPending;
+
+    @Autowired
+    @Qualifier("seatStreamExecutor")
+    private TaskExecutor seatStreamExecutor;
+
+    private final ConcurrentHashMap<Long, Feed> feeds = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(ShowSeatInventory inventory) {
+        Long showId = inventory.getShowId();
+        Feed feed = feeds.computeIfAbsent(showId, id -> new Feed());
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscriber subscriber = new Subscriber(feed, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (feed) {
+            int[] positions = inventory.positions();
+            List<SeatMapEvent.SeatState> seats = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                seats.add(new SeatMapEvent.SeatState(inventory.label(position), !inventory.isTaken(position)));
+            }
+            subscriber.offer(SseEmitter.event().name("snapshot").data(new SeatMapEvent(showId, feed.version, seats)));
+            feed.subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Queues a delta for every viewer of the show. Called from transaction callbacks
+     * on booking threads, so it never blocks on a subscriber's connection.
+     */
+    public void publish(Long showId, List<String> labels, boolean available) {
+        Feed feed = feeds.get(showId);
+        if (feed == null || labels.isEmpty()) {
+            return;
+        }
+        List<SeatMapEvent.SeatState> seats = new ArrayList<>(labels.size());
+        for (String label : labels) {
+            seats.add(new SeatMapEvent.SeatState(label, available));
+        }
+        List<Subscriber> subscribers;
+        synchronized (feed) {
+            SeatMapEvent delta = new SeatMapEvent(showId, ++feed.version, seats);
+            subscribers = new ArrayList<>(feed.subscribers);
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(SseEmitter.event().name("delta").data(delta))) {
+                    // Too far behind to catch up from deltas
+                    subscriber.disconnect();
+                }
+            }
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    /**
+     * Tells every viewer to discard its copy and reconnect, e.g. after the seats of
+     * a show have been regenerated.
+     */
+    public void reset(Long showId) {
+        Feed feed = feeds.remove(showId);
+        if (feed == null) {
+            return;
+        }
+        List<Subscriber> subscribers;
+        synchronized (feed) {
+            subscribers = new ArrayList<>(feed.subscribers);
+            feed.subscribers.clear();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().name("reset").data(showId));
+            subscriber.completeAfterDrain = true;
+            subscriber.schedule();
+        }
+    }
+
+    public int getSubscriberCount(Long showId) {
+        Feed feed = feeds.get(showId);
+        return feed == null ? 0 : feed.subscribers.size();
+    }
+
+    private static final class Feed {
+        private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long version;
+    }
+
+    /**
+     * One viewer's pending events. At most one executor task drains a subscriber at
+     * a time, which keeps its events in order.
+     */
+    private final class Subscriber implements Runnable {
+        private final Feed feed;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean completeAfterDrain;
+        private volatile boolean closed;
+
+        private Subscriber(Feed feed, SseEmitter emitter) {
+            this.feed = feed;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(Math.max(1, maxPending));
+        }
+
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            return !closed && pending.offer(event);
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                seatStreamExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                close();
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Drops whatever is queued and ends the stream once any send in progress returns.
+         */
+        private void disconnect() {
+            feed.subscribers.remove(this);
+            pending.clear();
+            completeAfterDrain = true;
+        }
+
+        private void close() {
+            closed = true;
+            feed.subscribers.remove(this);
+            pending.clear();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (SseEmitter.SseEventBuilder event; !closed && (event = pending.poll()) != null; ) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                        return;
+                    }
+                }
+                if (completeAfterDrain && !closed) {
+                    close();
+                    emitter.complete();
+                    return;
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Events or a disconnect may have arrived after the loop ended
+            if (!pending.isEmpty() || completeAfterDrain) {
+                schedule();
+            }
+        }
+    }
+}
@@ -2,42 +2,171 @@ package com.revature.bookingservice.service;
 
 import com.revature.bookingservice.entity.Seat;
 import com.revature.bookingservice.repository.SeatRepository;
+import com.revature.bookingservice.service.CatalogClient.CatalogType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class SeatService {
 
+    private static final int DEFAULT_SEATS_PER_ROW = 10;
+
+    private static final String INSERT_SEAT_SQL =
+        "INSERT INTO seats (show_id, row_label, seat_number, seat_type, price, is_available, is_blocked, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            // Re-running a failed generation skips the seats it already inserted
+            + "ON DUPLICATE KEY UPDATE seat_id = seat_id";
+
     @Autowired
     private SeatRepository seatRepository;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogClient catalogClient;
+
+    @Autowired
+    @Qualifier("seatGenerationExecutor")
+    private TaskExecutor seatGenerationExecutor;
+
+    @Value("${booking.seats.insert-batch-size:1000}")
+    private int insertBatchSize;
+
+    @Value("${booking.seats.job-ttl-ms:3600000}")
+    private long jobTtlMs;
+
+    private final ConcurrentHashMap<Long, SeatGenerationJob> generationJobs = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, CachedLayout> compiledLayouts = new ConcurrentHashMap<>();
+
     public List<Seat> getSeatsByShowId(Long showId) {
-        return seatRepository.findByShowIdOrderByRowLabelAscSeatNumberAsc(showId);
+        return seatRepository.findByShowIdOrderBySeatIdAsc(showId);
     }
 
     public List<Seat> getAvailableSeatsByShowId(Long showId) {
         return seatRepository.findByShowIdAndIsAvailableTrue(showId);
     }
-    
-    public void generateSeatsForShow(Long showId, int totalSeats, java.math.BigDecimal basePrice) {
-        int seatsPerRow = 10;
-        int rows = (int) Math.ceil((double) totalSeats / seatsPerRow);
-        
-        for (int row = 0; row < rows; row++) {
-            char rowLabel = (char) ('A' + row);
-            int seatsInThisRow = Math.min(seatsPerRow, totalSeats - (row * seatsPerRow));
-            
-            for (int seatNum = 1; seatNum <= seatsInThisRow; seatNum++) {
-                Seat seat = new Seat();
-                seat.setShowId(showId);
-                seat.setRowLabel(String.valueOf(rowLabel));
-                seat.setSeatNumber(seatNum);
-                seat.setPrice(basePrice);
-                seat.setIsAvailable(true);
-                seatRepository.save(seat);
+
+    /**
+     * Queues seat generation for a show and returns immediately. Seats follow the
+     * screen's layout when it has one, otherwise a plain grid of {@code totalSeats}.
+     * Progress can be polled through {@link #getGenerationJob(Long)}.
+     */
+    public SeatGenerationJob startSeatGeneration(Long showId, Long screenId, int totalSeats, BigDecimal basePrice) {
+        SeatGenerationJob job = new SeatGenerationJob(showId, totalSeats);
+        generationJobs.put(showId, job);
+        try {
+            seatGenerationExecutor.execute(() -> {
+                job.markRunning();
+                try {
+                    CompiledSeatLayout layout = getSeatLayout(screenId, totalSeats);
+                    job.setTotalSeats(layout.seatCount());
+                    generateSeatsForShow(showId, layout, basePrice, job);
+                    job.markCompleted();
+                } catch (Exception e) {
+                    job.markFailed(e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            job.markFailed("Seat generation queue is full; try again later");
+        }
+        return job;
+    }
+
+    public SeatGenerationJob getGenerationJob(Long showId) {
+        return generationJobs.get(showId);
+    }
+
+    /**
+     * Forgets finished jobs once their result has been available for the TTL.
+     */
+    @Scheduled(fixedDelayString = "${booking.seats.job-prune-ms:60000}")
+    public void pruneGenerationJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobTtlMs, ChronoUnit.MILLIS);
+        generationJobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Compiles the screen's layout once and reuses it for every show on the screen
+     * until venue-service returns a different layout. Fails if the screen cannot be
+     * read, rather than generating a grid that does not match the room.
+     */
+    public CompiledSeatLayout getSeatLayout(Long screenId, int totalSeats) {
+        Object seatLayout = null;
+        if (screenId != null) {
+            try {
+                seatLayout = catalogClient.get(CatalogType.SCREEN, screenId).getSeatLayout();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Could not load the layout of screen " + screenId + ": " + e.getMessage(), e);
+            }
+        }
+        if (!(seatLayout instanceof Map)) {
+            return CompiledSeatLayout.grid(totalSeats, DEFAULT_SEATS_PER_ROW);
+        }
+
+        CachedLayout cached = compiledLayouts.get(screenId);
+        if (cached == null || (cached.source != seatLayout && !cached.source.equals(seatLayout))) {
+            cached = new CachedLayout(seatLayout, CompiledSeatLayout.compile((Map<?, ?>) seatLayout));
+            compiledLayouts.put(screenId, cached);
+        }
+        return cached.layout.seatCount() > 0 ? cached.layout : CompiledSeatLayout.grid(totalSeats, DEFAULT_SEATS_PER_ROW);
+    }
+
+    private void generateSeatsForShow(Long showId, CompiledSeatLayout layout, BigDecimal basePrice, SeatGenerationJob job) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(insertBatchSize);
+
+        try {
+            for (int seat = 0; seat < layout.seatCount(); seat++) {
+                batch.add(new Object[] {
+                    showId, layout.rowLabel(seat), layout.seatNumber(seat), layout.seatType(seat).name(), basePrice, true, false, 0L, createdAt, createdAt
+                });
+                if (batch.size() == insertBatchSize) {
+                    flushSeatBatch(batch, job);
+                }
             }
+            flushSeatBatch(batch, job);
+        } finally {
+            // Drop any inventory loaded from a partial seat set
+            seatInventoryService.evict(showId);
+        }
+    }
+
+    private void flushSeatBatch(List<Object[]> batch, SeatGenerationJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SEAT_SQL, batch);
+        job.addGenerated(batch.size());
+        batch.clear();
+    }
+
+    private static final class CachedLayout {
+        private final Object source;
+        private final CompiledSeatLayout layout;
+
+        private CachedLayout(Object source, CompiledSeatLayout layout) {
+            this.source = source;
+            this.layout = layout;
         }
     }
 }
@@ -0,0 +1,208 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes loaded seat inventories to a snapshot file and restores them on startup.
+ */
+@Service
+@DependsOn("bookingJournalService")
+public class SeatSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatSnapshotService.class);
+
+    private static final long MAGIC = 0x53454154534E4150L; // "SEATSNAP"
+    private static final int FORMAT_VERSION = 1;
+    // magic, format version, taken-at millis, show count, payload length, payload CRC32;
+    // then one [showId][length][inventory] record per show
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Value("${booking.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.snapshot.path:./data/seat-snapshot.bin}")
+    private String path;
+
+    @Value("${booking.snapshot.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    @Value("${booking.snapshot.catch-up-margin-seconds:60}")
+    private long catchUpMarginSeconds;
+
+    /**
+     * Runs after the booking journal has replayed into the database, so the
+     * catch-up query sees those bookings too.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring seat snapshot {}: unexpected size {} bytes", file, size);
+                return;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long magic = mapped.getLong();
+            int formatVersion = mapped.getInt();
+            if (magic != MAGIC || formatVersion != FORMAT_VERSION) {
+                log.warn("Ignoring seat snapshot {}: not a format {} snapshot (magic {}, version {})",
+                    file, FORMAT_VERSION, Long.toHexString(magic), formatVersion);
+                return;
+            }
+            long takenAt = mapped.getLong();
+            int showCount = mapped.getInt();
+            long payloadLength = mapped.getLong();
+            long checksum = mapped.getLong();
+            if (HEADER_BYTES + payloadLength != size) {
+                log.warn("Ignoring seat snapshot {}: header says {} payload bytes but the file has {}",
+                    file, payloadLength, size - HEADER_BYTES);
+                return;
+            }
+            long ageSeconds = (System.currentTimeMillis() - takenAt) / 1000;
+            if (ageSeconds > maxAgeSeconds) {
+                log.warn("Ignoring seat snapshot {}: taken {}s ago, older than the {}s limit", file, ageSeconds, maxAgeSeconds);
+                return;
+            }
+            ByteBuffer payload = mapped.slice(HEADER_BYTES, (int) payloadLength);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != checksum) {
+                log.warn("Ignoring seat snapshot {}: payload checksum mismatch", file);
+                return;
+            }
+
+            Map<Long, ShowSeatInventory> restored = new HashMap<>();
+            for (int i = 0; i < showCount; i++) {
+                Long showId = payload.getLong();
+                int length = payload.getInt();
+                restored.put(showId, ShowSeatInventory.readSnapshot(showId, payload.slice(payload.position(), length)));
+                payload.position(payload.position() + length);
+            }
+            try {
+                catchUp(restored, takenAt - catchUpMarginSeconds * 1000);
+            } catch (RuntimeException e) {
+                log.warn("Ignoring seat snapshot {}: could not read seat changes made since it was taken", file, e);
+                return;
+            }
+            seatInventoryService.restore(restored.values());
+            log.info("Restored {} of {} show inventories from seat snapshot {} taken {}s ago",
+                restored.size(), showCount, file, ageSeconds);
+        } catch (IOException | RuntimeException e) {
+            // A damaged snapshot only costs the cold start it was meant to avoid
+            log.warn("Ignoring seat snapshot {}: could not be read", file, e);
+        }
+    }
+
+    private void catchUp(Map<Long, ShowSeatInventory> restored, long sinceMillis) {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceMillis), ZoneId.systemDefault());
+        Map<Long, Map<Long, Integer>> positionsBySeatId = new HashMap<>();
+        for (Seat seat : seatRepository.findByUpdatedAtAfter(since)) {
+            ShowSeatInventory inventory = restored.get(seat.getShowId());
+            if (inventory == null) {
+                continue;
+            }
+            Integer position = positionsBySeatId.computeIfAbsent(seat.getShowId(), id -> inventory.positionsBySeatId()).get(seat.getSeatId());
+            if (position == null) {
+                // Seats were added after the snapshot; load this show from the database instead
+                restored.remove(seat.getShowId());
+                continue;
+            }
+            inventory.applyPersistedState(position,
+                !Boolean.TRUE.equals(seat.getIsAvailable()) || Boolean.TRUE.equals(seat.getIsBlocked()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.snapshot.interval-ms:60000}", initialDelayString = "${booking.snapshot.interval-ms:60000}")
+    public synchronized void write() {
+        if (!enabled) {
+            return;
+        }
+        List<ShowSeatInventory> inventories = new ArrayList<>();
+        long payloadLength = 0;
+        for (ShowSeatInventory inventory : seatInventoryService.getLoadedInventories()) {
+            if (!inventory.isEmpty()) {
+                inventories.add(inventory);
+                payloadLength += Long.BYTES + Integer.BYTES + inventory.snapshotBytes();
+            }
+        }
+        if (inventories.isEmpty() || HEADER_BYTES + payloadLength > Integer.MAX_VALUE) {
+            return;
+        }
+
+        long takenAt = System.currentTimeMillis();
+        Path file = Paths.get(path).toAbsolutePath();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadLength);
+                mapped.position(HEADER_BYTES);
+                for (ShowSeatInventory inventory : inventories) {
+                    mapped.putLong(inventory.getShowId()).putInt(inventory.snapshotBytes());
+                    inventory.writeSnapshot(mapped);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(mapped.slice(HEADER_BYTES, (int) payloadLength));
+                mapped.position(0);
+                mapped.putLong(MAGIC).putInt(FORMAT_VERSION).putLong(takenAt).putInt(inventories.size())
+                    .putLong(payloadLength).putLong(crc.getValue());
+                mapped.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write seat snapshot to " + file, e);
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            // The next start loads seats from the database instead
+            log.warn("Could not write the seat snapshot on shutdown", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import com.revature.bookingservice.repository.ShowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps {@code shows.available_seats} correct under concurrency and cheap to read.
+ */
+@Service
+public class ShowAvailabilityService {
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Value("${booking.availability.refresh-ms:5000}")
+    private long refreshMs;
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Database writes per show, so that a re-seed racing one is not cached
+    private final ConcurrentHashMap<Long, Writes> writes = new ConcurrentHashMap<>();
+
+    public int getAvailableSeats(Long showId) {
+        Counter counter = counters.get(showId);
+        long now = System.currentTimeMillis();
+        if (counter != null && now - counter.seededAt < refreshMs) {
+            return (int) counter.seats.sum();
+        }
+        Writes writes = writes(showId);
+        long started = writes.started.get();
+        boolean quiet = writes.inFlight.get() == 0;
+        Integer availableSeats = showRepository.findAvailableSeatsByShowId(showId);
+        if (availableSeats == null) {
+            throw new ResourceNotFoundException("Show not found with id: " + showId);
+        }
+        if (quiet) {
+            install(showId, new Counter(availableSeats, now), writes, started);
+        }
+        return availableSeats;
+    }
+
+    /**
+     * Same as {@link #getAvailableSeats(Long)} for many shows, re-seeding every stale
+     * counter with one query. Shows that do not exist are left out of the result.
+     */
+    public Map<Long, Integer> getAvailableSeats(Collection<Long> showIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, Integer> availableSeats = new HashMap<>();
+        List<Long> stale = new ArrayList<>();
+        Map<Long, Long> startedBefore = new HashMap<>();
+        for (Long showId : showIds) {
+            Counter counter = counters.get(showId);
+            if (counter == null || now - counter.seededAt >= refreshMs) {
+                stale.add(showId);
+                Writes writes = writes(showId);
+                long started = writes.started.get();
+                if (writes.inFlight.get() == 0) {
+                    startedBefore.put(showId, started);
+                }
+            } else {
+                availableSeats.put(showId, (int) counter.seats.sum());
+            }
+        }
+        if (!stale.isEmpty()) {
+            for (Object[] row : showRepository.findAvailableSeatsByShowIdIn(stale)) {
+                Long showId = (Long) row[0];
+                Integer seats = (Integer) row[1];
+                Long started = startedBefore.get(showId);
+                if (started != null) {
+                    install(showId, new Counter(seats, now), writes(showId), started);
+                }
+                availableSeats.put(showId, seats);
+            }
+        }
+        return availableSeats;
+    }
+
+    /**
+     * Atomically takes {@code count} seats off the show's availability. Returns false
+     * without changing anything if fewer seats are left.
+     */
+    @Transactional
+    public boolean tryDecrement(Long showId, int count) {
+        Writes writes = begin(showId);
+        boolean decremented = false;
+        try {
+            decremented = showRepository.decrementAvailableSeats(showId, count) != 0;
+        } finally {
+            if (!decremented) {
+                writes.inFlight.decrementAndGet();
+            }
+        }
+        if (!decremented) {
+            return false;
+        }
+        onCompletion(writes, () -> {
+            Counter counter = counters.get(showId);
+            if (counter != null) {
+                counter.seats.add(-count);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Takes {@code count} seats off unconditionally, stopping at zero. For seats already
+     * won in the database, where the count must not veto the booking.
+     */
+    @Transactional
+    public void decrementClamped(Long showId, int count) {
+        Writes writes = begin(showId);
+        try {
+            showRepository.decrementAvailableSeatsClamped(showId, count);
+        } catch (RuntimeException e) {
+            writes.inFlight.decrementAndGet();
+            throw e;
+        }
+        onCompletion(writes, () -> invalidate(showId));
+    }
+
+    public void invalidate(Long showId) {
+        counters.remove(showId);
+    }
+
+    private Writes writes(Long showId) {
+        return this.writes.computeIfAbsent(showId, id -> new Writes());
+    }
+
+    /**
+     * Marks a write as in flight before it reaches the database. The in-flight count
+     * goes up first, so a re-seed that misses it is sure to see {@code started} move.
+     */
+    private Writes begin(Long showId) {
+        Writes writes = writes(showId);
+        writes.inFlight.incrementAndGet();
+        writes.started.incrementAndGet();
+        return writes;
+    }
+
+    /**
+     * Caches a counter read from the database, unless a write started since the read
+     * began: its commit may or may not be in the value read, so its delta could count twice.
+     */
+    private void install(Long showId, Counter counter, Writes writes, long startedBefore) {
+        counters.put(showId, counter);
+        if (writes.started.get() != startedBefore) {
+            counters.remove(showId, counter);
+        }
+    }
+
+    /**
+     * Applies the write to the cached counter once it commits, then lets re-seeds cache
+     * again. Without a transaction both happen now.
+     */
+    private void onCompletion(Writes writes, Runnable onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                onCommit.run();
+            } finally {
+                writes.inFlight.decrementAndGet();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        onCommit.run();
+                    }
+                } finally {
+                    writes.inFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private static final class Writes {
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+
+    private static final class Counter {
+        private final LongAdder seats = new LongAdder();
+        private final long seededAt;
+
+        private Counter(int availableSeats, long seededAt) {
+            this.seats.add(availableSeats);
+            this.seededAt = seededAt;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Packed seat state for a single show; claims are lock-free and all-or-nothing.
+ */
+public class ShowSeatInventory {
+
+    private static final Seat.SeatType[] SEAT_TYPES = Seat.SeatType.values();
+
+    private final Long showId;
+    private final String[] rowLabels;
+    private final Map<String, Integer> rowIndex;
+    private final int wordsPerRow;
+    private final long[] present;
+    private final long[] seatIds;
+    private final long[][] typeMasks;
+    private final AtomicLongArray taken;
+    // Seats known to be unavailable in the database, without in-memory holds or claims in flight
+    private final AtomicLongArray persisted;
+
+    private ShowSeatInventory(Long showId, String[] rowLabels, int wordsPerRow) {
+        this.showId = showId;
+        this.rowLabels = rowLabels;
+        this.rowIndex = new HashMap<>();
+        for (int i = 0; i < rowLabels.length; i++) {
+            rowIndex.put(rowLabels[i], i);
+        }
+        this.wordsPerRow = wordsPerRow;
+        this.present = new long[rowLabels.length * wordsPerRow];
+        this.seatIds = new long[rowLabels.length * wordsPerRow * 64];
+        this.typeMasks = new long[SEAT_TYPES.length][rowLabels.length * wordsPerRow];
+        this.taken = new AtomicLongArray(rowLabels.length * wordsPerRow);
+        this.persisted = new AtomicLongArray(rowLabels.length * wordsPerRow);
+    }
+
+    public static ShowSeatInventory fromSeats(Long showId, List<Seat> seats) {
+        LinkedHashSet<String> rows = new LinkedHashSet<>();
+        int maxSeatNumber = 1;
+        for (Seat seat : seats) {
+            rows.add(seat.getRowLabel());
+            maxSeatNumber = Math.max(maxSeatNumber, seat.getSeatNumber());
+        }
+
+        ShowSeatInventory inventory = new ShowSeatInventory(
+            showId, rows.toArray(new String[0]), (maxSeatNumber + 63) >>> 6);
+        for (Seat seat : seats) {
+            int position = inventory.position(inventory.rowIndex.get(seat.getRowLabel()), seat.getSeatNumber());
+            inventory.present[position >>> 6] |= 1L << position;
+            inventory.seatIds[position] = seat.getSeatId();
+            Seat.SeatType seatType = seat.getSeatType() != null ? seat.getSeatType() : Seat.SeatType.REGULAR;
+            inventory.typeMasks[seatType.ordinal()][position >>> 6] |= 1L << position;
+            if (!Boolean.TRUE.equals(seat.getIsAvailable()) || Boolean.TRUE.equals(seat.getIsBlocked())) {
+                inventory.taken.set(position >>> 6, inventory.taken.get(position >>> 6) | (1L << position));
+                inventory.persisted.set(position >>> 6, inventory.persisted.get(position >>> 6) | (1L << position));
+            }
+        }
+        return inventory;
+    }
+
+    public Long getShowId() {
+        return showId;
+    }
+
+    public boolean isEmpty() {
+        return rowLabels.length == 0;
+    }
+
+    /**
+     * Resolves seat labels such as {@code "A12"} to bit positions. Duplicate labels
+     * are collapsed; unknown labels are rejected.
+     */
+    public int[] resolve(Collection<String> labels) {
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String label : labels) {
+            distinct.add(label.trim());
+        }
+
+        int[] positions = new int[distinct.size()];
+        int i = 0;
+        for (String label : distinct) {
+            int split = label.length();
+            while (split > 0 && Character.isDigit(label.charAt(split - 1))) {
+                split--;
+            }
+            Integer row = split < label.length() ? rowIndex.get(label.substring(0, split)) : null;
+            int seatNumber = row != null && label.length() - split <= 9 ? Integer.parseInt(label.substring(split)) : 0;
+            if (row == null || seatNumber < 1 || seatNumber > wordsPerRow * 64
+                    || !isPresent(position(row, seatNumber))) {
+                throw new ResourceNotFoundException("Seat " + label + " not found for show " + showId);
+            }
+            positions[i++] = position(row, seatNumber);
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    public boolean isTaken(int position) {
+        return (taken.get(position >>> 6) & (1L << position)) != 0;
+    }
+
+    /**
+     * Marks every position as taken, or none of them if any is already taken.
+     * Positions must be sorted, as returned by {@link #resolve(Collection)}.
+     */
+    public boolean tryClaim(int[] positions) {
+        int i = 0;
+        while (i < positions.length) {
+            int word = positions[i] >>> 6;
+            long mask = 0L;
+            int j = i;
+            while (j < positions.length && positions[j] >>> 6 == word) {
+                mask |= 1L << positions[j++];
+            }
+            while (true) {
+                long current = taken.get(word);
+                if ((current & mask) != 0) {
+                    release(Arrays.copyOfRange(positions, 0, i));
+                    return false;
+                }
+                if (taken.compareAndSet(word, current, current | mask)) {
+                    break;
+                }
+            }
+            i = j;
+        }
+        return true;
+    }
+
+    public void release(int[] positions) {
+        for (int position : positions) {
+            // A seat the database already reports as booked stays taken
+            if ((persisted.get(position >>> 6) & (1L << position)) == 0) {
+                clearBit(taken, position);
+            }
+        }
+    }
+
+    /**
+     * Records that claimed seats are now unavailable in the database.
+     */
+    public void markPersisted(int[] positions) {
+        for (int position : positions) {
+            setBit(persisted, position);
+        }
+    }
+
+    /**
+     * Brings one seat in line with its database row, as read after a snapshot restore.
+     */
+    public void applyPersistedState(int position, boolean unavailable) {
+        if (unavailable) {
+            setBit(persisted, position);
+            setBit(taken, position);
+        } else {
+            clearBit(persisted, position);
+            clearBit(taken, position);
+        }
+    }
+
+    private static void setBit(AtomicLongArray words, int position) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        long current;
+        do {
+            current = words.get(word);
+        } while ((current & bit) == 0 && !words.compareAndSet(word, current, current | bit));
+    }
+
+    private static void clearBit(AtomicLongArray words, int position) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        long current;
+        do {
+            current = words.get(word);
+        } while ((current & bit) != 0 && !words.compareAndSet(word, current, current & ~bit));
+    }
+
+    /**
+     * Size of {@link #writeSnapshot(ByteBuffer)}'s output, which depends only on the layout.
+     */
+    public int snapshotBytes() {
+        int bytes = Integer.BYTES;
+        for (String row : rowLabels) {
+            bytes += Short.BYTES + row.getBytes(StandardCharsets.UTF_8).length;
+        }
+        bytes += Integer.BYTES + Long.BYTES * present.length * (SEAT_TYPES.length + 2);
+        return bytes + Long.BYTES * seatCount();
+    }
+
+    /**
+     * Writes the layout, seat ids and database-confirmed availability. Seats that
+     * are only held or claimed in memory are written as free.
+     */
+    public void writeSnapshot(ByteBuffer out) {
+        out.putInt(rowLabels.length);
+        for (String row : rowLabels) {
+            byte[] label = row.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) label.length).put(label);
+        }
+        out.putInt(wordsPerRow);
+        for (long word : present) {
+            out.putLong(word);
+        }
+        for (long[] mask : typeMasks) {
+            for (long word : mask) {
+                out.putLong(word);
+            }
+        }
+        for (int position : positions()) {
+            out.putLong(seatIds[position]);
+        }
+        for (int word = 0; word < present.length; word++) {
+            out.putLong(persisted.get(word));
+        }
+    }
+
+    public static ShowSeatInventory readSnapshot(Long showId, ByteBuffer in) {
+        String[] rows = new String[in.getInt()];
+        for (int i = 0; i < rows.length; i++) {
+            byte[] label = new byte[in.getShort()];
+            in.get(label);
+            rows[i] = new String(label, StandardCharsets.UTF_8);
+        }
+        ShowSeatInventory inventory = new ShowSeatInventory(showId, rows, in.getInt());
+        for (int word = 0; word < inventory.present.length; word++) {
+            inventory.present[word] = in.getLong();
+        }
+        for (long[] mask : inventory.typeMasks) {
+            for (int word = 0; word < mask.length; word++) {
+                mask[word] = in.getLong();
+            }
+        }
+        for (int position : inventory.positions()) {
+            inventory.seatIds[position] = in.getLong();
+        }
+        for (int word = 0; word < inventory.present.length; word++) {
+            long bits = in.getLong();
+            inventory.persisted.set(word, bits);
+            inventory.taken.set(word, bits);
+        }
+        return inventory;
+    }
+
+    /**
+     * Finds the best block of {@code partySize} adjacent free seats, optionally of a
+     * single seat type. Rows closest to the preferred viewing row win; within a row
+     * the block closest to the centre wins. Gaps in the layout break adjacency.
+     * Returns null if no such block exists. Nothing is claimed.
+     */
+    public int[] findBestBlock(int partySize, Seat.SeatType seatType) {
+        if (partySize < 1 || partySize > wordsPerRow * 64) {
+            return null;
+        }
+        int rows = rowLabels.length;
+        int preferredRow = (int) (rows * 0.6);
+        for (int distance = 0; distance <= Math.max(preferredRow, rows - 1 - preferredRow); distance++) {
+            int[] best = null;
+            long bestScore = Long.MAX_VALUE;
+            int[] candidateRows = distance == 0 ? new int[] { preferredRow } : new int[] { preferredRow + distance, preferredRow - distance };
+            for (int row : candidateRows) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                long score = wordsPerRow == 1 ? bestStartInWord(row, partySize, seatType) : bestStartInRow(row, partySize, seatType);
+                if (score >= 0 && (score >>> 32) < bestScore) {
+                    bestScore = score >>> 32;
+                    best = new int[partySize];
+                    for (int i = 0; i < partySize; i++) {
+                        best[i] = position(row, (int) score + 1) + i;
+                    }
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        return null;
+    }
+
+    // Packs (distance from centre << 32 | zero-based start seat), or -1 if none.
+    private long bestStartInWord(int row, int partySize, Seat.SeatType seatType) {
+        long seats = seatType != null ? typeMasks[seatType.ordinal()][row] : present[row];
+        long free = seats & ~taken.get(row);
+        // After this loop bit i is set only if seats i .. i + partySize - 1 are all free.
+        long starts = free;
+        for (int run = 1; run < partySize && starts != 0; ) {
+            int shift = Math.min(run, partySize - run);
+            starts &= starts >>> shift;
+            run += shift;
+        }
+        if (starts == 0) {
+            return -1;
+        }
+        int twiceCentre = (63 - Long.numberOfLeadingZeros(present[row])) + Long.numberOfTrailingZeros(present[row]);
+        long best = -1;
+        while (starts != 0) {
+            int start = Long.numberOfTrailingZeros(starts);
+            long distance = Math.abs(2L * start + partySize - 1 - twiceCentre);
+            if (best < 0 || distance < (best >>> 32)) {
+                best = (distance << 32) | start;
+            }
+            starts &= starts - 1;
+        }
+        return best;
+    }
+
+    private long bestStartInRow(int row, int partySize, Seat.SeatType seatType) {
+        int rowCapacity = wordsPerRow * 64;
+        int first = -1;
+        int last = -1;
+        for (int seat = 0; seat < rowCapacity; seat++) {
+            if (isPresent(position(row, seat + 1))) {
+                first = first < 0 ? seat : first;
+                last = seat;
+            }
+        }
+        long best = -1;
+        int run = 0;
+        for (int seat = 0; seat < rowCapacity; seat++) {
+            int position = position(row, seat + 1);
+            boolean free = (seatType != null ? (typeMasks[seatType.ordinal()][position >>> 6] & (1L << position)) != 0 : isPresent(position))
+                && !isTaken(position);
+            run = free ? run + 1 : 0;
+            if (run >= partySize) {
+                int start = seat - partySize + 1;
+                long distance = Math.abs(2L * start + partySize - 1 - (first + last));
+                if (best < 0 || distance < (best >>> 32)) {
+                    best = (distance << 32) | start;
+                }
+            }
+        }
+        return best;
+    }
+
+    private boolean isPresent(int position) {
+        return (present[position >>> 6] & (1L << position)) != 0;
+    }
+
+    public Seat.SeatType seatType(int position) {
+        long bit = 1L << position;
+        for (int type = 0; type < SEAT_TYPES.length; type++) {
+            if ((typeMasks[type][position >>> 6] & bit) != 0) {
+                return SEAT_TYPES[type];
+            }
+        }
+        return Seat.SeatType.REGULAR;
+    }
+
+    public List<Long> seatIds(int[] positions) {
+        List<Long> ids = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            ids.add(seatIds[position]);
+        }
+        return ids;
+    }
+
+    public Map<Long, Integer> positionsBySeatId() {
+        int[] positions = positions();
+        Map<Long, Integer> index = new HashMap<>(positions.length * 2);
+        for (int position : positions) {
+            index.put(seatIds[position], position);
+        }
+        return index;
+    }
+
+    public String label(int position) {
+        int rowCapacity = wordsPerRow * 64;
+        return rowLabels[position / rowCapacity] + (position % rowCapacity + 1);
+    }
+
+    public List<String> labels(int[] positions) {
+        List<String> labels = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            labels.add(label(position));
+        }
+        return labels;
+    }
+
+    public int[] positions() {
+        int[] positions = new int[seatCount()];
+        int i = 0;
+        for (int word = 0; word < present.length; word++) {
+            long bits = present[word];
+            while (bits != 0) {
+                positions[i++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return positions;
+    }
+
+    public int seatCount() {
+        int count = 0;
+        for (long word : present) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public int availableCount() {
+        int count = 0;
+        for (int word = 0; word < present.length; word++) {
+            count += Long.bitCount(present[word] & ~taken.get(word));
+        }
+        return count;
+    }
+
+    private int position(int row, int seatNumber) {
+        return row * wordsPerRow * 64 + seatNumber - 1;
+    }
+}
@@ -1,13 +1,22 @@
 package com.revature.bookingservice.service;
 
+import com.revature.bookingservice.dto.EventDTO;
+import com.revature.bookingservice.dto.MovieDTO;
+import com.revature.bookingservice.dto.ScreenDTO;
+import com.revature.bookingservice.dto.ShowDTO;
+import com.revature.bookingservice.dto.VenueDTO;
 import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
 import com.revature.bookingservice.repository.ShowRepository;
+import com.revature.bookingservice.service.CatalogClient.CatalogType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class ShowService {
@@ -16,12 +25,26 @@ public class ShowService {
     private ShowRepository showRepository;
     
     @Autowired
-    @org.springframework.beans.factory.annotation.Qualifier("simpleRestTemplate")
-    private RestTemplate restTemplate;
-    
+    private CatalogClient catalogClient;
+
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private ShowAvailabilityService showAvailabilityService;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private ShowtimeIndex showtimeIndex;
+
+    @Autowired
+    private ShowtimeReadModel showtimeReadModel;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
     public List<Show> getAllActiveShows() {
         return showRepository.findByIsActiveTrueOrderByShowDateAscShowTimeAsc();
     }
@@ -30,51 +53,18 @@ public class ShowService {
         return showRepository.findAll();
     }
 
+    /**
+     * Lists every show with its movie or event, venue and screen. Failed catalog
+     * lookups are listed per show under "enrichmentErrors".
+     */
     public List<java.util.Map<String, Object>> getAllShowsWithDetails() {
         List<Show> shows = showRepository.findAll();
-        
-        // Fetch all movies, events, venues, screens at once
-        java.util.Map<Long, Object> movieCache = new java.util.HashMap<>();
-        java.util.Map<Long, Object> eventCache = new java.util.HashMap<>();
-        java.util.Map<Long, Object> venueCache = new java.util.HashMap<>();
-        java.util.Map<Long, Object> screenCache = new java.util.HashMap<>();
-        
-        // Collect unique IDs
-        java.util.Set<Long> movieIds = shows.stream().map(Show::getMovieId).filter(id -> id != null).collect(java.util.stream.Collectors.toSet());
-        java.util.Set<Long> eventIds = shows.stream().map(Show::getEventId).filter(id -> id != null).collect(java.util.stream.Collectors.toSet());
-        java.util.Set<Long> venueIds = shows.stream().map(Show::getVenueId).collect(java.util.stream.Collectors.toSet());
-        java.util.Set<Long> screenIds = shows.stream().map(Show::getScreenId).collect(java.util.stream.Collectors.toSet());
-        
-        // Fetch all at once
-        for (Long id : movieIds) {
-            try {
-                java.util.Map response = restTemplate.getForObject("http://localhost:8082/api/movies/" + id, java.util.Map.class);
-                if (response != null && response.get("data") != null) movieCache.put(id, response.get("data"));
-            } catch (Exception e) {}
-        }
-        
-        for (Long id : eventIds) {
-            try {
-                java.util.Map response = restTemplate.getForObject("http://localhost:8082/api/events/" + id, java.util.Map.class);
-                if (response != null && response.get("data") != null) eventCache.put(id, response.get("data"));
-            } catch (Exception e) {}
-        }
-        
-        for (Long id : venueIds) {
-            try {
-                java.util.Map response = restTemplate.getForObject("http://localhost:8083/api/venues/" + id, java.util.Map.class);
-                if (response != null && response.get("data") != null) venueCache.put(id, response.get("data"));
-            } catch (Exception e) {}
-        }
-        
-        for (Long id : screenIds) {
-            try {
-                java.util.Map response = restTemplate.getForObject("http://localhost:8083/api/venues/screens/" + id, java.util.Map.class);
-                if (response != null && response.get("data") != null) screenCache.put(id, response.get("data"));
-            } catch (Exception e) {}
-        }
-        
-        // Now enrich shows using cache
+
+        Map<Long, CompletableFuture<MovieDTO>> movies = catalogClient.lookupAll(CatalogType.MOVIE, ids(shows, Show::getMovieId));
+        Map<Long, CompletableFuture<EventDTO>> events = catalogClient.lookupAll(CatalogType.EVENT, ids(shows, Show::getEventId));
+        Map<Long, CompletableFuture<VenueDTO>> venues = catalogClient.lookupAll(CatalogType.VENUE, ids(shows, Show::getVenueId));
+        Map<Long, CompletableFuture<ScreenDTO>> screens = catalogClient.lookupAll(CatalogType.SCREEN, ids(shows, Show::getScreenId));
+
         return shows.stream().map(show -> {
             java.util.Map<String, Object> enriched = new java.util.HashMap<>();
             enriched.put("showId", show.getShowId());
@@ -88,67 +78,33 @@ public class ShowService {
             enriched.put("totalSeats", show.getTotalSeats());
             enriched.put("availableSeats", show.getAvailableSeats());
             enriched.put("isActive", show.getIsActive());
-            
-            if (show.getMovieId() != null) enriched.put("movie", movieCache.get(show.getMovieId()));
-            if (show.getEventId() != null) enriched.put("event", eventCache.get(show.getEventId()));
-            enriched.put("venue", venueCache.get(show.getVenueId()));
-            enriched.put("screen", screenCache.get(show.getScreenId()));
-            
+
+            List<String> errors = new java.util.ArrayList<>();
+            if (show.getMovieId() != null) putLookup(enriched, errors, "movie", show.getMovieId(), movies);
+            if (show.getEventId() != null) putLookup(enriched, errors, "event", show.getEventId(), events);
+            putLookup(enriched, errors, "venue", show.getVenueId(), venues);
+            putLookup(enriched, errors, "screen", show.getScreenId(), screens);
+            if (!errors.isEmpty()) {
+                enriched.put("enrichmentErrors", errors);
+            }
             return enriched;
         }).collect(java.util.stream.Collectors.toList());
     }
 
-    private java.util.Map<String, Object> enrichShowWithDetails(Show show) {
-        java.util.Map<String, Object> enriched = new java.util.HashMap<>();
-        enriched.put("showId", show.getShowId());
-        enriched.put("movieId", show.getMovieId());
-        enriched.put("eventId", show.getEventId());
-        enriched.put("venueId", show.getVenueId());
-        enriched.put("screenId", show.getScreenId());
-        enriched.put("showDate", show.getShowDate());
-        enriched.put("showTime", show.getShowTime());
-        enriched.put("basePrice", show.getBasePrice());
-        enriched.put("totalSeats", show.getTotalSeats());
-        enriched.put("availableSeats", show.getAvailableSeats());
-        enriched.put("isActive", show.getIsActive());
-
-        if (show.getMovieId() != null) {
-            try {
-                String url = "http://movie-service/api/movies/" + show.getMovieId();
-                java.util.Map response = restTemplate.getForObject(url, java.util.Map.class);
-                if (response != null && response.get("data") != null) {
-                    enriched.put("movie", response.get("data"));
-                }
-            } catch (Exception e) {}
-        }
-
-        if (show.getEventId() != null) {
-            try {
-                String url = "http://movie-service/api/events/" + show.getEventId();
-                java.util.Map response = restTemplate.getForObject(url, java.util.Map.class);
-                if (response != null && response.get("data") != null) {
-                    enriched.put("event", response.get("data"));
-                }
-            } catch (Exception e) {}
-        }
-
-        try {
-            String url = "http://venue-service/api/venues/" + show.getVenueId();
-            java.util.Map response = restTemplate.getForObject(url, java.util.Map.class);
-            if (response != null && response.get("data") != null) {
-                enriched.put("venue", response.get("data"));
-            }
-        } catch (Exception e) {}
+    private List<Long> ids(List<Show> shows, java.util.function.Function<Show, Long> id) {
+        return shows.stream().map(id).collect(java.util.stream.Collectors.toList());
+    }
 
+    private <T> void putLookup(Map<String, Object> enriched, List<String> errors, String field, Long id,
+                               Map<Long, CompletableFuture<T>> lookups) {
         try {
-            String url = "http://venue-service/api/venues/screens/" + show.getScreenId();
-            java.util.Map response = restTemplate.getForObject(url, java.util.Map.class);
-            if (response != null && response.get("data") != null) {
-                enriched.put("screen", response.get("data"));
-            }
-        } catch (Exception e) {}
-
-        return enriched;
+            enriched.put(field, lookups.get(id).join());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String reason = cause instanceof TimeoutException ? "timed out" : String.valueOf(cause.getMessage());
+            errors.add(field + " " + id + ": " + reason);
+            enriched.put(field, null);
+        }
     }
 
     public Show getShowById(Long id) {
@@ -157,11 +113,15 @@ public class ShowService {
     }
 
     public Show createShow(Show show) {
-        return showRepository.save(show);
+        Show savedShow = showRepository.save(show);
+        showtimeIndex.evict(savedShow);
+        showtimeReadModel.refresh(savedShow);
+        return savedShow;
     }
 
     public Show updateShow(Long id, Show showDetails) {
         Show show = getShowById(id);
+        showtimeIndex.evict(show);
         show.setMovieId(showDetails.getMovieId());
         show.setEventId(showDetails.getEventId());
         show.setVenueId(showDetails.getVenueId());
@@ -172,13 +132,21 @@ public class ShowService {
         show.setPricingTiers(showDetails.getPricingTiers());
         show.setTotalSeats(showDetails.getTotalSeats());
         show.setAvailableSeats(showDetails.getAvailableSeats());
-        return showRepository.save(show);
+        Show savedShow = showRepository.save(show);
+        showAvailabilityService.invalidate(id);
+        pricingEngine.invalidate(id);
+        showtimeIndex.evict(savedShow);
+        showtimeReadModel.refresh(savedShow);
+        return savedShow;
     }
 
     public void deleteShow(Long id) {
         Show show = getShowById(id);
         show.setIsActive(false);
-        showRepository.save(show);
+        Show savedShow = showRepository.save(show);
+        waitingRoomService.configure(savedShow);
+        showtimeIndex.evict(savedShow);
+        showtimeReadModel.refresh(savedShow);
     }
 
     public List<Long> getAllShowIds() {
@@ -188,52 +156,77 @@ public class ShowService {
     }
 
     public List<String> getShowDatesByMovieId(Long movieId) {
-        return showRepository.findAll().stream()
-            .filter(show -> movieId.equals(show.getMovieId()) && Boolean.TRUE.equals(show.getIsActive()))
-            .map(show -> show.getShowDate().toString())
-            .distinct()
-            .sorted()
+        return showtimeIndex.forMovie(movieId).keySet().stream()
+            .map(java.time.LocalDate::toString)
             .collect(java.util.stream.Collectors.toList());
     }
 
     public List<String> getShowDatesByEventId(Long eventId) {
-        return showRepository.findAll().stream()
-            .filter(show -> eventId.equals(show.getEventId()) && Boolean.TRUE.equals(show.getIsActive()))
-            .map(show -> show.getShowDate().toString())
-            .distinct()
-            .sorted()
+        return showtimeIndex.forEvent(eventId).keySet().stream()
+            .map(java.time.LocalDate::toString)
             .collect(java.util.stream.Collectors.toList());
     }
 
-    public List<Show> getShowsByMovieIdAndDate(Long movieId, String date) {
-        java.time.LocalDate showDate = java.time.LocalDate.parse(date);
-        return showRepository.findAll().stream()
-            .filter(show -> movieId.equals(show.getMovieId()) 
-                && showDate.equals(show.getShowDate()) 
-                && Boolean.TRUE.equals(show.getIsActive()))
-            .sorted((a, b) -> a.getShowTime().compareTo(b.getShowTime()))
-            .collect(java.util.stream.Collectors.toList());
+    public List<ShowDTO> getShowsByMovieIdAndDate(Long movieId, String date) {
+        List<Show> shows = showtimeIndex.forMovie(movieId).get(java.time.LocalDate.parse(date));
+        return withCurrentAvailability(shows);
     }
 
-    public List<Show> getShowsByEventIdAndDate(Long eventId, String date) {
-        java.time.LocalDate showDate = java.time.LocalDate.parse(date);
-        return showRepository.findAll().stream()
-            .filter(show -> eventId.equals(show.getEventId()) 
-                && showDate.equals(show.getShowDate()) 
-                && Boolean.TRUE.equals(show.getIsActive()))
-            .sorted((a, b) -> a.getShowTime().compareTo(b.getShowTime()))
-            .collect(java.util.stream.Collectors.toList());
+    public List<ShowDTO> getShowsByEventIdAndDate(Long eventId, String date) {
+        List<Show> shows = showtimeIndex.forEvent(eventId).get(java.time.LocalDate.parse(date));
+        return withCurrentAvailability(shows);
+    }
+
+    // The indexed Show entities are shared between requests, so availability goes on a copy
+    private List<ShowDTO> withCurrentAvailability(List<Show> shows) {
+        if (shows == null) {
+            return java.util.Collections.emptyList();
+        }
+        List<ShowDTO> result = new java.util.ArrayList<>(shows.size());
+        for (Show show : shows) {
+            result.add(ShowDTO.from(show, showAvailabilityService.getAvailableSeats(show.getShowId())));
+        }
+        return result;
+    }
+
+    public Show setHighDemand(Long id, boolean enabled, Integer admissionRatePerSecond) {
+        Show show = getShowById(id);
+        show.setIsHighDemand(enabled);
+        show.setAdmissionRatePerSecond(admissionRatePerSecond);
+        Show savedShow = showRepository.save(show);
+        waitingRoomService.configure(savedShow);
+        showtimeIndex.evict(savedShow);
+        return savedShow;
     }
 
     public Show activateShow(Long id) {
         Show show = getShowById(id);
         show.setIsActive(true);
-        return showRepository.save(show);
+        Show savedShow = showRepository.save(show);
+        waitingRoomService.configure(savedShow);
+        showtimeIndex.evict(savedShow);
+        showtimeReadModel.refresh(savedShow);
+        return savedShow;
     }
 
-    public void generateSeatsForShow(Long showId) {
+    public Map<String, Object> getShowAvailability(Long showId) {
+        Map<String, Object> availability = new java.util.HashMap<>();
+        availability.put("showId", showId);
+        availability.put("availableSeats", showAvailabilityService.getAvailableSeats(showId));
+        return availability;
+    }
+
+    public SeatGenerationJob generateSeatsForShow(Long showId) {
         Show show = getShowById(showId);
-        seatService.generateSeatsForShow(showId, show.getTotalSeats(), show.getBasePrice());
+        return seatService.startSeatGeneration(showId, show.getScreenId(), show.getTotalSeats(), show.getBasePrice());
+    }
+
+    public SeatGenerationJob getSeatGenerationJob(Long showId) {
+        SeatGenerationJob job = seatService.getGenerationJob(showId);
+        if (job == null) {
+            throw new ResourceNotFoundException("No seat generation job for show " + showId);
+        }
+        return job;
     }
     
     public Show createShowFromData(Map<String, Object> showData) {
@@ -268,32 +261,42 @@ public class ShowService {
         } else {
             show.setBasePrice(new java.math.BigDecimal("200"));
         }
+
+        Map<String, java.math.BigDecimal> pricingTiers = new java.util.HashMap<>();
+        for (String tier : new String[] { "standardPrice", "premiumPrice", "vipPrice" }) {
+            if (showData.get(tier) != null) {
+                pricingTiers.put(tier, new java.math.BigDecimal(showData.get(tier).toString()));
+            }
+        }
+        if (!pricingTiers.isEmpty()) {
+            show.setPricingTiers(pricingTiers);
+        }
         
         // Get screen capacity from venue service
         int totalSeats = 100; // default
         if (screenId != null) {
             try {
-                String url = "http://venue-service/api/venues/screens/" + screenId;
-                Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-                if (response != null && response.get("data") != null) {
-                    Map<String, Object> screenData = (Map<String, Object>) response.get("data");
-                    if (screenData.get("capacity") != null) {
-                        totalSeats = Integer.parseInt(screenData.get("capacity").toString());
-                    }
+                Integer capacity = catalogClient.get(CatalogType.SCREEN, screenId).getTotalSeats();
+                if (capacity != null) {
+                    totalSeats = capacity;
                 }
             } catch (Exception e) {
                 // Use default if service call fails
             }
         }
+        // The screen's seat layout, when it has one, decides the real seat count
+        totalSeats = seatService.getSeatLayout(screenId, totalSeats).seatCount();
         
         show.setTotalSeats(totalSeats);
         show.setAvailableSeats(totalSeats);
         show.setIsActive(true);
         
         Show savedShow = showRepository.save(show);
+        showtimeIndex.evict(savedShow);
+        showtimeReadModel.refresh(savedShow);
         
-        // Generate seats
-        seatService.generateSeatsForShow(savedShow.getShowId(), totalSeats, show.getBasePrice());
+        // Generate seats in the background; large venues would otherwise block the request
+        seatService.startSeatGeneration(savedShow.getShowId(), screenId, totalSeats, show.getBasePrice());
         
         return savedShow;
     }
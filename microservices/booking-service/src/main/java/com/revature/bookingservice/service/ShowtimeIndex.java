@@ -0,0 +1,100 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.repository.ShowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Active showtimes per movie and per event, grouped by date, cached in memory.
+ */
+@Service
+public class ShowtimeIndex {
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Value("${booking.showtimes.index-ttl-ms:60000}")
+    private long ttlMs;
+
+    private final ConcurrentHashMap<Long, Entry> byMovie = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Entry> byEvent = new ConcurrentHashMap<>();
+
+    public NavigableMap<LocalDate, List<Show>> forMovie(Long movieId) {
+        return load(byMovie, movieId, showRepository::findByMovieIdAndIsActiveTrueOrderByShowDateAscShowTimeAsc);
+    }
+
+    public NavigableMap<LocalDate, List<Show>> forEvent(Long eventId) {
+        return load(byEvent, eventId, showRepository::findByEventIdAndIsActiveTrueOrderByShowDateAscShowTimeAsc);
+    }
+
+    private NavigableMap<LocalDate, List<Show>> load(ConcurrentHashMap<Long, Entry> cache, Long id, Function<Long, List<Show>> query) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(id);
+        if (entry != null && now - entry.loadedAt < ttlMs) {
+            return entry.showtimes;
+        }
+        // Loading inside compute means an eviction racing the load waits for it and
+        // then removes the possibly stale result.
+        return cache.compute(id, (key, existing) -> existing != null && now - existing.loadedAt < ttlMs
+            ? existing
+            : new Entry(group(query.apply(key)), now)).showtimes;
+    }
+
+    /**
+     * Drops the cached showtimes for the show's movie or event. Call after the write
+     * is committed, and with the old values too if the show moved to another title.
+     */
+    public void evict(Show show) {
+        if (show.getMovieId() != null) {
+            byMovie.remove(show.getMovieId());
+        }
+        if (show.getEventId() != null) {
+            byEvent.remove(show.getEventId());
+        }
+    }
+
+    /**
+     * Drops expired entries, so titles nobody is browsing do not stay in memory.
+     */
+    @Scheduled(fixedDelayString = "${booking.showtimes.index-ttl-ms:60000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        byMovie.values().removeIf(entry -> entry.loadedAt < cutoff);
+        byEvent.values().removeIf(entry -> entry.loadedAt < cutoff);
+    }
+
+    private NavigableMap<LocalDate, List<Show>> group(List<Show> shows) {
+        TreeMap<LocalDate, List<Show>> byDate = new TreeMap<>();
+        for (Show show : shows) {
+            byDate.computeIfAbsent(show.getShowDate(), date -> new ArrayList<>()).add(show);
+        }
+        for (Map.Entry<LocalDate, List<Show>> entry : byDate.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableNavigableMap(byDate);
+    }
+
+    private static final class Entry {
+        private final NavigableMap<LocalDate, List<Show>> showtimes;
+        private final long loadedAt;
+
+        private Entry(NavigableMap<LocalDate, List<Show>> showtimes, long loadedAt) {
+            this.showtimes = showtimes;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.EventDTO;
+import com.revature.bookingservice.dto.MovieDTO;
+import com.revature.bookingservice.dto.ScreenDTO;
+import com.revature.bookingservice.dto.VenueDTO;
+import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.entity.ShowtimeView;
+import com.revature.bookingservice.repository.ShowRepository;
+import com.revature.bookingservice.repository.ShowtimeViewRepository;
+import com.revature.bookingservice.service.CatalogClient.CatalogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code showtimes_view} in step with active shows for city and date browsing.
+ */
+@Service
+public class ShowtimeReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeReadModel.class);
+
+    private static final String UPSERT_VIEW_SQL =
+        "INSERT INTO showtimes_view (show_id, city_key, city, show_date, show_time, movie_id, event_id, title, language, "
+            + "venue_id, venue_name, screen_id, screen_number, screen_type, base_price, refreshed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE city_key = VALUES(city_key), city = VALUES(city), show_date = VALUES(show_date), "
+            + "show_time = VALUES(show_time), movie_id = VALUES(movie_id), event_id = VALUES(event_id), title = VALUES(title), "
+            + "language = VALUES(language), venue_id = VALUES(venue_id), venue_name = VALUES(venue_name), "
+            + "screen_id = VALUES(screen_id), screen_number = VALUES(screen_number), screen_type = VALUES(screen_type), "
+            + "base_price = VALUES(base_price), refreshed_at = VALUES(refreshed_at)";
+
+    @Autowired
+    private ShowtimeViewRepository showtimeViewRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private CatalogClient catalogClient;
+
+    @Autowired
+    private ShowAvailabilityService showAvailabilityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.showtimes.write-batch-size:500}")
+    private int writeBatchSize;
+
+    // Latest refresh per show; an older refresh that completes late is dropped
+    private final ConcurrentHashMap<Long, Long> pendingRefreshes = new ConcurrentHashMap<>();
+    private final AtomicLong refreshSequence = new AtomicLong();
+
+    public List<ShowtimeView> findShowtimes(String city, LocalDate date, Long movieId) {
+        String cityKey = cityKey(city);
+        List<ShowtimeView> showtimes = movieId != null
+            ? showtimeViewRepository.findByCityKeyAndShowDateAndMovieIdOrderByShowTimeAsc(cityKey, date, movieId)
+            : showtimeViewRepository.findByCityKeyAndShowDateOrderByShowTimeAsc(cityKey, date);
+        Map<Long, Integer> availableSeats = showAvailabilityService.getAvailableSeats(
+            showtimes.stream().map(ShowtimeView::getShowId).collect(Collectors.toList()));
+        for (ShowtimeView showtime : showtimes) {
+            showtime.setAvailableSeats(availableSeats.get(showtime.getShowId()));
+        }
+        return showtimes;
+    }
+
+    /**
+     * Brings the show's row up to date after the show has been saved. Catalog
+     * lookups that miss the cache complete on the catalog executor and the row is
+     * written from there, so an admin write never waits on another service. A row
+     * whose write fails is repaired by the next rebuild.
+     */
+    public void refresh(Show show) {
+        Long showId = show.getShowId();
+        long sequence = refreshSequence.incrementAndGet();
+        pendingRefreshes.put(showId, sequence);
+        if (!Boolean.TRUE.equals(show.getIsActive())) {
+            writeIfLatest(showId, sequence, () -> {
+                if (showtimeViewRepository.existsById(showId)) {
+                    showtimeViewRepository.deleteById(showId);
+                }
+            });
+            return;
+        }
+        Map<Long, CompletableFuture<MovieDTO>> movies = catalogClient.lookupAll(CatalogType.MOVIE, nonNull(show.getMovieId()));
+        Map<Long, CompletableFuture<EventDTO>> events = catalogClient.lookupAll(CatalogType.EVENT, nonNull(show.getEventId()));
+        Map<Long, CompletableFuture<VenueDTO>> venues = catalogClient.lookupAll(CatalogType.VENUE, nonNull(show.getVenueId()));
+        Map<Long, CompletableFuture<ScreenDTO>> screens = catalogClient.lookupAll(CatalogType.SCREEN, nonNull(show.getScreenId()));
+        List<CompletableFuture<?>> lookups = new ArrayList<>();
+        lookups.addAll(movies.values());
+        lookups.addAll(events.values());
+        lookups.addAll(venues.values());
+        lookups.addAll(screens.values());
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) ->
+            writeIfLatest(showId, sequence, () -> showtimeViewRepository.save(toView(show, movies, events, venues, screens))));
+    }
+
+    /**
+     * Rewrites every row in one transaction, in JDBC batches, then deletes the rows
+     * this pass did not touch. Rows written by a concurrent refresh are newer than
+     * the cutoff, so they survive. The catalog is read before the transaction opens,
+     * so no connection is held while waiting on other services.
+     */
+    @Scheduled(initialDelayString = "${booking.showtimes.initial-delay-ms:10000}",
+               fixedDelayString = "${booking.showtimes.rebuild-ms:900000}")
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Show> shows = showRepository.findByIsActiveTrueOrderByShowDateAscShowTimeAsc();
+        Map<Long, CompletableFuture<MovieDTO>> movies = catalogClient.lookupAll(CatalogType.MOVIE, ids(shows, Show::getMovieId));
+        Map<Long, CompletableFuture<EventDTO>> events = catalogClient.lookupAll(CatalogType.EVENT, ids(shows, Show::getEventId));
+        Map<Long, CompletableFuture<VenueDTO>> venues = catalogClient.lookupAll(CatalogType.VENUE, ids(shows, Show::getVenueId));
+        Map<Long, CompletableFuture<ScreenDTO>> screens = catalogClient.lookupAll(CatalogType.SCREEN, ids(shows, Show::getScreenId));
+        List<Object[]> rows = new ArrayList<>(shows.size());
+        for (Show show : shows) {
+            rows.add(row(toView(show, movies, events, venues, screens)));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += writeBatchSize) {
+                jdbcTemplate.batchUpdate(UPSERT_VIEW_SQL, rows.subList(from, Math.min(from + writeBatchSize, rows.size())));
+            }
+            showtimeViewRepository.deleteByRefreshedAtBefore(startedAt);
+        });
+    }
+
+    /**
+     * Writes the row unless a newer refresh of the show has started. The decision is
+     * taken on the map and the write runs outside it, so no map lock is held on JDBC.
+     */
+    private void writeIfLatest(Long showId, long sequence, Runnable write) {
+        if (!pendingRefreshes.remove(showId, sequence)) {
+            return;
+        }
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh showtime row for show {}; the next rebuild repairs it", showId, e);
+        }
+    }
+
+    private static Object[] row(ShowtimeView view) {
+        return new Object[] {
+            view.getShowId(), view.getCityKey(), view.getCity(), view.getShowDate(), view.getShowTime(), view.getMovieId(),
+            view.getEventId(), view.getTitle(), view.getLanguage(), view.getVenueId(), view.getVenueName(), view.getScreenId(),
+            view.getScreenNumber(), view.getScreenType(), view.getBasePrice(), Timestamp.valueOf(view.getRefreshedAt())
+        };
+    }
+
+    private ShowtimeView toView(Show show, Map<Long, CompletableFuture<MovieDTO>> movies, Map<Long, CompletableFuture<EventDTO>> events,
+                                Map<Long, CompletableFuture<VenueDTO>> venues, Map<Long, CompletableFuture<ScreenDTO>> screens) {
+        ShowtimeView view = new ShowtimeView();
+        view.setShowId(show.getShowId());
+        view.setShowDate(show.getShowDate());
+        view.setShowTime(show.getShowTime());
+        view.setMovieId(show.getMovieId());
+        view.setEventId(show.getEventId());
+        view.setVenueId(show.getVenueId());
+        view.setScreenId(show.getScreenId());
+        view.setBasePrice(show.getBasePrice());
+        view.setRefreshedAt(LocalDateTime.now());
+
+        if (show.getMovieId() != null) {
+            MovieDTO movie = data(movies, show.getMovieId());
+            if (movie != null) {
+                view.setTitle(movie.getTitle());
+                view.setLanguage(movie.getLanguage());
+            }
+        } else {
+            EventDTO event = data(events, show.getEventId());
+            if (event != null) {
+                view.setTitle(event.getTitle());
+                view.setLanguage(event.getLanguage());
+            }
+        }
+
+        VenueDTO venue = data(venues, show.getVenueId());
+        if (venue != null) {
+            view.setVenueName(venue.getVenueName());
+            view.setCity(venue.getCity());
+            view.setCityKey(venue.getCity() != null ? cityKey(venue.getCity()) : null);
+        }
+
+        ScreenDTO screen = data(screens, show.getScreenId());
+        if (screen != null) {
+            view.setScreenType(screen.getScreenType());
+            view.setScreenNumber(screen.getScreenNumber());
+        }
+        return view;
+    }
+
+    private static <T> T data(Map<Long, CompletableFuture<T>> lookups, Long id) {
+        CompletableFuture<T> lookup = id != null ? lookups.get(id) : null;
+        if (lookup == null) {
+            return null;
+        }
+        try {
+            return lookup.join();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String cityKey(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Long> nonNull(Long id) {
+        return id != null ? List.of(id) : List.of();
+    }
+
+    private static List<Long> ids(List<Show> shows, java.util.function.Function<Show, Long> id) {
+        return shows.stream().map(id).collect(Collectors.toList());
+    }
+}
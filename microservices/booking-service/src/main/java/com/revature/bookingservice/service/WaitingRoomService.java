@@ -0,0 +1,230 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.QueueStatus;
+import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.exception.QueueAdmissionRequiredException;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import com.revature.bookingservice.repository.ShowRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room that admits queued users to high-demand shows at a fixed rate.
+ */
+@Service
+public class WaitingRoomService {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Value("${booking.queue.default-admission-rate:20}")
+    private int defaultAdmissionRate;
+
+    @Value("${booking.queue.admission-window-seconds:600}")
+    private long admissionWindowSeconds;
+
+    @Value("${booking.queue.max-waiting-per-show:50000}")
+    private long maxWaitingPerShow;
+
+    @Value("${booking.queue.poll-timeout-seconds:120}")
+    private long pollTimeoutSeconds;
+
+    private final ConcurrentHashMap<Long, ShowQueue> queues = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    // Keyed by "showId:userId"
+    private final ConcurrentHashMap<String, Ticket> ticketsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Also re-run periodically, because the flag can be changed through another instance.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${booking.queue.reload-ms:30000}", initialDelayString = "${booking.queue.reload-ms:30000}")
+    public void loadHighDemandShows() {
+        Set<Long> highDemand = new HashSet<>();
+        for (Show show : showRepository.findByIsHighDemandTrueAndIsActiveTrue()) {
+            configure(show);
+            highDemand.add(show.getShowId());
+        }
+        queues.keySet().retainAll(highDemand);
+    }
+
+    public void configure(Show show) {
+        if (Boolean.TRUE.equals(show.getIsHighDemand()) && Boolean.TRUE.equals(show.getIsActive())) {
+            int rate = show.getAdmissionRatePerSecond() != null ? show.getAdmissionRatePerSecond() : defaultAdmissionRate;
+            queues.computeIfAbsent(show.getShowId(), id -> new ShowQueue(rate)).ratePerSecond = rate;
+        } else {
+            queues.remove(show.getShowId());
+        }
+    }
+
+    /**
+     * Joins the show's queue, or returns the user's existing place in it.
+     */
+    public QueueStatus join(Long showId, Long userId) {
+        ShowQueue queue = queues.get(showId);
+        if (queue == null) {
+            return new QueueStatus(null, showId, 0, true, 0, null);
+        }
+        Ticket ticket = ticketsByUser.compute(showId + ":" + userId, (key, current) -> {
+            if (current != null && tickets.containsKey(current.token)) {
+                return current;
+            }
+            if (queue.issued.get() - queue.admitted - queue.abandonedCount.get() >= maxWaitingPerShow) {
+                throw new QueueAdmissionRequiredException("The queue for this show is full; please try again later");
+            }
+            // Tokens start with the show id so the gateway can route them to the show's instance
+            Ticket issued = new Ticket(showId + "-" + UUID.randomUUID(), showId, userId, queue.issued.incrementAndGet());
+            tickets.put(issued.token, issued);
+            return issued;
+        });
+        ticket.lastSeenAt = System.currentTimeMillis();
+        return status(ticket, queue);
+    }
+
+    public QueueStatus getStatus(String token) {
+        Ticket ticket = tickets.get(token);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Queue token not found or expired");
+        }
+        ticket.lastSeenAt = System.currentTimeMillis();
+        ShowQueue queue = queues.get(ticket.showId);
+        if (queue == null) {
+            return new QueueStatus(token, ticket.showId, 0, true, 0, null);
+        }
+        return status(ticket, queue);
+    }
+
+    /**
+     * Throws unless the show is not queued or the token has been admitted for it.
+     */
+    public void checkAdmitted(Long showId, String token) {
+        ShowQueue queue = queues.get(showId);
+        if (queue == null) {
+            return;
+        }
+        Ticket ticket = token != null ? tickets.get(token) : null;
+        if (ticket == null || !ticket.showId.equals(showId)) {
+            throw new QueueAdmissionRequiredException("This show is in high demand; join the queue before booking");
+        }
+        ticket.lastSeenAt = System.currentTimeMillis();
+        if (!admit(ticket, queue)) {
+            throw new QueueAdmissionRequiredException("Your turn has not come yet; " + (ticket.number - queue.admitted) + " ahead of you");
+        }
+        if (System.currentTimeMillis() > ticket.admittedAt + admissionWindowSeconds * 1000) {
+            throw new QueueAdmissionRequiredException("Your booking window has expired; please rejoin the queue");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.queue.tick-ms:250}")
+    public void admitQueuedUsers() {
+        long now = System.currentTimeMillis();
+        for (ShowQueue queue : queues.values()) {
+            // Bucket capacity is one second's worth of admissions.
+            queue.tokens = Math.min(queue.ratePerSecond, queue.tokens + queue.ratePerSecond * (now - queue.lastRefill) / 1000.0);
+            queue.lastRefill = now;
+            // Abandoned tickets are passed over without using up an admission
+            while (queue.tokens >= 1 && queue.admitted < queue.issued.get()) {
+                long next = queue.admitted + 1;
+                queue.admitted = next;
+                if (queue.abandoned.remove(next)) {
+                    queue.abandonedCount.decrementAndGet();
+                } else {
+                    queue.tokens--;
+                }
+            }
+            while (!queue.abandoned.isEmpty() && queue.abandoned.first() <= queue.admitted) {
+                queue.abandoned.pollFirst();
+                queue.abandonedCount.decrementAndGet();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.queue.cleanup-ms:60000}")
+    public void removeExpiredTickets() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> {
+            ShowQueue queue = queues.get(ticket.showId);
+            boolean expired = queue == null
+                || (ticket.admittedAt != 0 && now > ticket.admittedAt + admissionWindowSeconds * 1000);
+            if (!expired && ticket.admittedAt == 0 && now > ticket.lastSeenAt + pollTimeoutSeconds * 1000) {
+                expired = true;
+                if (ticket.number > queue.admitted && queue.abandoned.add(ticket.number)) {
+                    queue.abandonedCount.incrementAndGet();
+                }
+            }
+            if (expired) {
+                ticketsByUser.remove(ticket.showId + ":" + ticket.userId, ticket);
+            }
+            return expired;
+        });
+    }
+
+    private QueueStatus status(Ticket ticket, ShowQueue queue) {
+        if (admit(ticket, queue)) {
+            long expiresAt = ticket.admittedAt + admissionWindowSeconds * 1000;
+            return new QueueStatus(ticket.token, ticket.showId, 0, true, 0,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()));
+        }
+        long position = ticket.number - queue.admitted;
+        long waitSeconds = (position + queue.ratePerSecond - 1) / Math.max(1, queue.ratePerSecond);
+        return new QueueStatus(ticket.token, ticket.showId, position, false, waitSeconds, null);
+    }
+
+    // The booking window starts the first time the user is seen after admission.
+    private boolean admit(Ticket ticket, ShowQueue queue) {
+        if (ticket.number > queue.admitted) {
+            return false;
+        }
+        if (ticket.admittedAt == 0) {
+            ticket.admittedAt = System.currentTimeMillis();
+        }
+        return true;
+    }
+
+    private static final class ShowQueue {
+        private final AtomicLong issued = new AtomicLong();
+        private final ConcurrentSkipListSet<Long> abandoned = new ConcurrentSkipListSet<>();
+        private final AtomicLong abandonedCount = new AtomicLong();
+        private volatile long admitted;
+        private volatile int ratePerSecond;
+        private double tokens;
+        private long lastRefill = System.currentTimeMillis();
+
+        private ShowQueue(int ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+    }
+
+    private static final class Ticket {
+        private final String token;
+        private final Long showId;
+        private final Long userId;
+        private final long number;
+        private volatile long lastSeenAt = System.currentTimeMillis();
+        private volatile long admittedAt;
+
+        private Ticket(String token, Long showId, Long userId, long number) {
+            this.token = token;
+            this.showId = showId;
+            this.userId = userId;
+            this.number = number;
+        }
+    }
+}
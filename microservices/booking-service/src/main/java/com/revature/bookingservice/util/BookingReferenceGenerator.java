@@ -0,0 +1,72 @@
+package com.revature.bookingservice.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style booking references (time, node id, sequence) in Crockford base32.
+ */
+@Component
+public class BookingReferenceGenerator {
+
+    private static final long EPOCH_MS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private volatile long nodeId;
+
+    // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public BookingReferenceGenerator(@Value("${booking.reference.node-id:-1}") long configuredNodeId) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("booking.reference.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = configuredNodeId;
+    }
+
+    public void assignNodeId(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public long nextId() {
+        long nodeId = this.nodeId;
+        if (nodeId < 0) {
+            throw new IllegalStateException("No booking reference node id has been assigned");
+        }
+        long now = System.currentTimeMillis() - EPOCH_MS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = (current >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+            | (nodeId << SEQUENCE_BITS)
+            | (next & SEQUENCE_MASK);
+    }
+
+    public String nextReference() {
+        long id = nextId();
+        char[] buffer = new char[13];
+        int i = buffer.length;
+        do {
+            buffer[--i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        } while (id != 0);
+        return "BK" + new String(buffer, i, buffer.length - i);
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
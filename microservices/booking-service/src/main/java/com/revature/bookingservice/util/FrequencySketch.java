@@ -0,0 +1,60 @@
+package com.revature.bookingservice.util;
+
+/**
+ * Count-min sketch of access frequencies for TinyLFU-style cache admission; not thread-safe.
+ */
+public class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = { 0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F };
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int expectedEntries) {
+        int size = Integer.highestOneBit(Math.max(64, expectedEntries * 4) - 1) << 1;
+        this.counters = new byte[size];
+        this.mask = size - 1;
+        this.sampleSize = Math.max(10, expectedEntries * 10);
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int seed : SEEDS) {
+            int index = index(hash, seed);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>= 1;
+            }
+            additions /= 2;
+        }
+    }
+
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int seed : SEEDS) {
+            frequency = Math.min(frequency, counters[index(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    private int index(int hash, int seed) {
+        int h = hash * seed;
+        return (h ^ (h >>> 17)) & mask;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x45D9F3B;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,120 @@
+package com.revature.bookingservice.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive cap on in-flight requests that shrinks as latency rises above its baseline.
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOWS = 60;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private volatile double baselineRttNanos;
+    private volatile double recentRttNanos;
+
+    // Guarded by this
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowMillis * 1_000_000;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if fewer than the current limit are in flight. Every successful
+     * call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot. {@code rttNanos} is the time the request held it; pass a
+     * negative value for requests whose latency says nothing about the backend,
+     * such as streams that were handed off to another thread.
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            sample(rttNanos, current);
+        }
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtRelease) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        double recent = (double) windowRttSum / windowSamples;
+        double baseline = baselineRttNanos == 0 ? recent : baselineRttNanos + (recent - baselineRttNanos) / BASELINE_WINDOWS;
+        if (baseline / recent > 2) {
+            // Latency dropped well below the old baseline (e.g. after an incident); catch up faster
+            baseline *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * baseline / recent));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        if (next > limit && windowMaxInFlight < limit / 2) {
+            next = limit;
+        }
+
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+        baselineRttNanos = baseline;
+        recentRttNanos = recent;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getBaselineRttMillis() {
+        return baselineRttNanos / 1_000_000;
+    }
+
+    public double getRecentRttMillis() {
+        return recentRttNanos / 1_000_000;
+    }
+}
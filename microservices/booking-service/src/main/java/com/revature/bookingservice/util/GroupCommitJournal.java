@@ -0,0 +1,346 @@
+package com.revature.bookingservice.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented journal that shares one fsync across concurrent appends.
+ */
+public class GroupCommitJournal implements Closeable {
+
+    private static final String SUFFIX = ".journal";
+    // Each record is [length][seq][crc32][payload]
+    private static final int HEADER_BYTES = 16;
+    private static final Append CLOSE = new Append(new byte[0]);
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxGroupSize;
+
+    private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong fsyncs = new AtomicLong();
+    private final AtomicLong records = new AtomicLong();
+
+    private Thread writer;
+    private volatile boolean closed;
+
+    // Owned by the writer thread once started
+    private long lastSeq;
+    private Segment current;
+    private FileChannel channel;
+
+    public GroupCommitJournal(Path directory, long segmentBytes, int maxGroupSize) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    /**
+     * Passes every record left over from a previous run to {@code consumer} in
+     * order. Must be called once, before {@link #start()}; the replayed records
+     * still have to be marked applied before their segments are removed.
+     */
+    public void replay(BiConsumer<Long, byte[]> consumer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Segment segment = new Segment(file, Long.parseLong(file.getFileName().toString().replace(SUFFIX, "")));
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long goodEnd = readSegment(in, segment, consumer);
+                if (goodEnd < in.size()) {
+                    in.truncate(goodEnd);
+                    in.force(true);
+                }
+            }
+            segment.sealed = true;
+            segments.put(segment.firstSeq, segment);
+            lastSeq = Math.max(lastSeq, segment.lastSeq);
+            deleteIfApplied(segment);
+        }
+    }
+
+    private long readSegment(FileChannel in, Segment segment, BiConsumer<Long, byte[]> consumer) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        long position = 0;
+        while (true) {
+            header.clear();
+            if (in.read(header, position) < HEADER_BYTES) {
+                return position;
+            }
+            header.flip();
+            int length = header.getInt();
+            long seq = header.getLong();
+            int crc = header.getInt();
+            if (length < 0 || position + HEADER_BYTES + length > in.size()) {
+                return position;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            in.read(payload, position + HEADER_BYTES);
+            if (checksum(seq, payload.array()) != crc) {
+                return position;
+            }
+            segment.lastSeq = seq;
+            consumer.accept(seq, payload.array());
+            position += HEADER_BYTES + length;
+        }
+    }
+
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(this::writeLoop, "booking-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a record and returns a future that completes with its sequence number
+     * once it is on disk, or exceptionally if it could not be written.
+     */
+    public CompletableFuture<Long> append(byte[] payload) {
+        Append append = new Append(payload);
+        if (closed) {
+            append.refuse();
+            return append.result;
+        }
+        queue.add(append);
+        return append.result;
+    }
+
+    /**
+     * Marks a record as applied to the database. Segments are deleted when all of
+     * their records are applied, in whatever order that happens.
+     */
+    public void markApplied(long seq) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(seq);
+        if (entry != null) {
+            entry.getValue().applied.incrementAndGet();
+            deleteIfApplied(entry.getValue());
+        }
+    }
+
+    public long getFsyncCount() {
+        return fsyncs.get();
+    }
+
+    public long getRecordCount() {
+        return records.get();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>(maxGroupSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(group, maxGroupSize - 1);
+            int end = group.indexOf(CLOSE);
+            if (end >= 0) {
+                stopping = true;
+                List<Append> refused = group.subList(end, group.size());
+                refused.forEach(Append::refuse);
+                refused.clear();
+            }
+            if (!group.isEmpty()) {
+                writeGroup(group);
+            }
+            group.clear();
+        }
+        closeChannel();
+        // Anything that slipped in behind the close marker is refused
+        for (Append late; (late = queue.poll()) != null; ) {
+            late.refuse();
+        }
+    }
+
+    private void writeGroup(List<Append> group) {
+        long firstSeq = lastSeq + 1;
+        long startPosition = -1;
+        try {
+            if (channel == null || channel.size() >= segmentBytes) {
+                roll(firstSeq);
+            }
+            startPosition = channel.size();
+            int bytes = 0;
+            for (Append append : group) {
+                bytes += HEADER_BYTES + append.payload.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(bytes);
+            long seq = lastSeq;
+            for (Append append : group) {
+                seq++;
+                buffer.putInt(append.payload.length).putLong(seq).putInt(checksum(seq, append.payload)).put(append.payload);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, channel.size());
+            }
+            channel.force(false);
+            fsyncs.incrementAndGet();
+        } catch (IOException e) {
+            discardFrom(startPosition);
+            for (Append append : group) {
+                append.result.completeExceptionally(new UncheckedIOException("Journal write failed", e));
+            }
+            return;
+        }
+
+        for (Append append : group) {
+            lastSeq++;
+            current.lastSeq = lastSeq;
+            records.incrementAndGet();
+            append.result.complete(lastSeq);
+        }
+    }
+
+    private void roll(long firstSeq) throws IOException {
+        Segment previous = current;
+        closeChannel();
+        if (previous != null) {
+            previous.sealed = true;
+            deleteIfApplied(previous);
+        }
+        Path file = directory.resolve(String.format("%020d%s", firstSeq, SUFFIX));
+        // A leftover file with this name can only hold records that were never acknowledged
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE, StandardOpenOption.READ);
+        current = new Segment(file, firstSeq);
+        current.lastSeq = firstSeq - 1;
+        segments.put(firstSeq, current);
+    }
+
+    private void deleteIfApplied(Segment segment) {
+        synchronized (segment) {
+            if (!segment.sealed || segment.deleted || segment.applied.get() < segment.lastSeq - segment.firstSeq + 1) {
+                return;
+            }
+            segment.deleted = true;
+        }
+        segments.remove(segment.firstSeq, segment);
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException ignored) {
+            // Replaying an applied segment is harmless; the next run will retry the delete.
+        }
+    }
+
+    /**
+     * Drops a partially written group. If the file cannot be cut back, the next
+     * group starts a new segment so that good records never follow a torn one.
+     */
+    private void discardFrom(long position) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (position < 0) {
+                throw new IOException("Segment was not opened");
+            }
+            channel.truncate(position);
+        } catch (IOException e) {
+            closeChannel();
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(seq).array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Stops accepting appends, writes whatever is already queued and closes the file.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            thread = writer;
+        }
+        if (thread == null) {
+            return;
+        }
+        // No interrupt: it would close the channel under an in-flight write
+        queue.add(CLOSE);
+        try {
+            thread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Append {
+        private final byte[] payload;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private Append(byte[] payload) {
+            this.payload = payload;
+        }
+
+        private void refuse() {
+            result.completeExceptionally(new IllegalStateException("Journal is closed"));
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long firstSeq;
+        private final AtomicLong applied = new AtomicLong();
+        private volatile long lastSeq;
+        private volatile boolean sealed;
+        private boolean deleted;
+
+        private Segment(Path file, long firstSeq) {
+            this.file = file;
+            this.firstSeq = firstSeq;
+            this.lastSeq = firstSeq - 1;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.revature.bookingservice.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for cheap timeouts; cancellation is lazy.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final Level root;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * Schedules {@code item} to fire at {@code expirationMs}. Returns false if it is
+     * already due, in which case the caller should handle it immediately.
+     */
+    public synchronized boolean schedule(T item, long expirationMs) {
+        return root.add(new Entry<>(item, expirationMs));
+    }
+
+    /**
+     * Advances the wheel to {@code nowMs} and passes every item that fell due to
+     * {@code onExpired}. The callback runs outside the wheel's lock.
+     */
+    public void advanceTo(long nowMs, Consumer<T> onExpired) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            while (root.currentTime + root.tickMs <= nowMs) {
+                root.step(entry -> expired.add(entry.item));
+            }
+        }
+        expired.forEach(onExpired);
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long expiration;
+
+        private Entry(T item, long expiration) {
+            this.item = item;
+            this.expiration = expiration;
+        }
+    }
+
+    private final class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final ArrayDeque<Entry<T>>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        private boolean add(Entry<T> entry) {
+            if (entry.expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (entry.expiration < currentTime + interval) {
+                buckets[(int) ((entry.expiration / tickMs) % wheelSize)].add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        private void step(Consumer<Entry<T>> fire) {
+            currentTime += tickMs;
+            if (overflow != null) {
+                overflow.advanceClock(currentTime, fire);
+            }
+            flush(buckets[(int) ((currentTime / tickMs) % wheelSize)], fire);
+        }
+
+        private void advanceClock(long time, Consumer<Entry<T>> fire) {
+            if (time < currentTime + tickMs) {
+                return;
+            }
+            currentTime = time - (time % tickMs);
+            if (overflow != null) {
+                overflow.advanceClock(time, fire);
+            }
+            flush(buckets[(int) ((currentTime / tickMs) % wheelSize)], fire);
+        }
+
+        private void flush(ArrayDeque<Entry<T>> bucket, Consumer<Entry<T>> fire) {
+            Entry<T> entry;
+            while ((entry = bucket.poll()) != null) {
+                if (!root.add(entry)) {
+                    fire.accept(entry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Runs before Hibernate's schema update so that uk_seats_show_row_number can be added
+-- to a seats table that already holds duplicates from concurrent seat generation.
+-- Per (show_id, row_label, seat_number) the booked or blocked row is kept, then the
+-- oldest one. On a database without a seats table this fails and is skipped.
+DELETE dup FROM seats dup
+JOIN seats keep
+  ON keep.show_id = dup.show_id
+ AND keep.row_label = dup.row_label
+ AND keep.seat_number = dup.seat_number
+ AND (COALESCE(keep.is_available, 1) < COALESCE(dup.is_available, 1)
+      OR (COALESCE(keep.is_available, 1) = COALESCE(dup.is_available, 1)
+          AND COALESCE(keep.is_blocked, 0) > COALESCE(dup.is_blocked, 0))
+      OR (COALESCE(keep.is_available, 1) = COALESCE(dup.is_available, 1)
+          AND COALESCE(keep.is_blocked, 0) = COALESCE(dup.is_blocked, 0)
+          AND keep.seat_id < dup.seat_id));
@@ -0,0 +1,80 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledSeatLayoutTest {
+
+    @Test
+    void gridFillsRowsAndShortensTheLast() {
+        CompiledSeatLayout layout = CompiledSeatLayout.grid(25, 10);
+
+        assertEquals(25, layout.seatCount());
+        assertEquals("A", layout.rowLabel(0));
+        assertEquals(1, layout.seatNumber(0));
+        assertEquals("C", layout.rowLabel(24));
+        assertEquals(5, layout.seatNumber(24));
+        assertEquals(Seat.SeatType.REGULAR, layout.seatType(24));
+    }
+
+    @Test
+    void rowNamesContinuePastZ() {
+        assertEquals("A", CompiledSeatLayout.rowName(0));
+        assertEquals("Z", CompiledSeatLayout.rowName(25));
+        assertEquals("AA", CompiledSeatLayout.rowName(26));
+        assertEquals("AB", CompiledSeatLayout.rowName(27));
+        assertEquals("ZZ", CompiledSeatLayout.rowName(701));
+        assertEquals("AAA", CompiledSeatLayout.rowName(702));
+    }
+
+    @Test
+    void compilesRowsSkippingDisabledSeats() {
+        CompiledSeatLayout layout = CompiledSeatLayout.compile(Map.of(
+            "rows", List.of("A", "B"),
+            "seatsPerRow", Map.of("A", 3, "B", "2"),
+            "disabledSeats", List.of("A2"),
+            "seatTypes", Map.of("B", "vip")));
+
+        assertEquals(4, layout.seatCount());
+        assertEquals("A", layout.rowLabel(1));
+        assertEquals(3, layout.seatNumber(1));
+        assertEquals(Seat.SeatType.REGULAR, layout.seatType(1));
+        assertEquals("B", layout.rowLabel(2));
+        assertEquals(Seat.SeatType.VIP, layout.seatType(2));
+    }
+
+    @Test
+    void compilesSectionsWithPrefixesAndTypes() {
+        CompiledSeatLayout layout = CompiledSeatLayout.compile(Map.of(
+            "sections", List.of(
+                Map.of("prefix", "P", "seatType", "premium", "rows", List.of("A")),
+                Map.of("rows", List.of("A"))),
+            "seatsPerRow", Map.of("PA", 2, "A", 1)));
+
+        assertEquals(3, layout.seatCount());
+        assertEquals("PA", layout.rowLabel(0));
+        assertEquals(Seat.SeatType.PREMIUM, layout.seatType(1));
+        assertEquals("A", layout.rowLabel(2));
+        assertEquals(Seat.SeatType.REGULAR, layout.seatType(2));
+    }
+
+    @Test
+    void rejectsRowsThatCannotBeLabelled() {
+        assertThrows(IllegalArgumentException.class,
+            () -> CompiledSeatLayout.compile(Map.of("rows", List.of("A", "A"), "seatsPerRow", Map.of("A", 2))));
+        assertThrows(IllegalArgumentException.class,
+            () -> CompiledSeatLayout.compile(Map.of("rows", List.of("A1"), "seatsPerRow", Map.of("A1", 2))));
+    }
+
+    @Test
+    void ignoresMissingOrMalformedFields() {
+        assertEquals(0, CompiledSeatLayout.compile(Map.of()).seatCount());
+        assertEquals(0, CompiledSeatLayout.compile(Map.of("rows", List.of("A"), "seatsPerRow", "oops")).seatCount());
+    }
+}
@@ -0,0 +1,131 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.dto.PriceQuote;
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.entity.Show;
+import com.revature.bookingservice.exception.PriceMismatchException;
+import com.revature.bookingservice.repository.ShowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+    private static final Long SHOW_ID = 1L;
+
+    @Mock
+    private ShowRepository showRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = new PricingEngine("0.7:1.10,0.9:1.25");
+        ReflectionTestUtils.setField(pricingEngine, "showRepository", showRepository);
+        ReflectionTestUtils.setField(pricingEngine, "seatInventoryService", seatInventoryService);
+        ReflectionTestUtils.setField(pricingEngine, "tableTtlMs", 60_000L);
+    }
+
+    @Test
+    void pricesEachSeatByItsTier() {
+        stubShow(0);
+
+        PriceQuote quote = pricingEngine.quote(SHOW_ID, List.of("A3", "A1"));
+
+        assertEquals(0, new BigDecimal("350.00").compareTo(quote.getTotalAmount()));
+        assertEquals(0, BigDecimal.ONE.compareTo(quote.getSurgeMultiplier()));
+        assertEquals("A1", quote.getSeats().get(0).getLabel());
+        assertEquals("VIP", quote.getSeats().get(0).getSeatType());
+        assertEquals(new BigDecimal("250.00"), quote.getSeats().get(0).getPrice());
+    }
+
+    @Test
+    void surgesOnceOccupancyCrossesAThreshold() {
+        stubShow(8);
+
+        PriceQuote quote = pricingEngine.quote(SHOW_ID, List.of("A1"));
+
+        assertEquals(new BigDecimal("275.00"), quote.getTotalAmount());
+        assertEquals(0, new BigDecimal("1.10").compareTo(quote.getSurgeMultiplier()));
+    }
+
+    @Test
+    void heldQuoteDoesNotCountTheCallersOwnSeats() {
+        ShowSeatInventory inventory = stubShow(6);
+        inventory.tryClaim(inventory.resolve(List.of("A3", "A4")));
+
+        assertEquals(new BigDecimal("110.00"), pricingEngine.quote(SHOW_ID, List.of("A3")).getTotalAmount());
+        assertEquals(new BigDecimal("200.00"), pricingEngine.quoteHeld(SHOW_ID, List.of("A3", "A4")).getTotalAmount());
+    }
+
+    @Test
+    void reusesTheCompiledPriceTable() {
+        stubShow(0);
+
+        pricingEngine.quote(SHOW_ID, List.of("A3"));
+        pricingEngine.quote(SHOW_ID, List.of("A4"));
+        pricingEngine.invalidate(SHOW_ID);
+        pricingEngine.quote(SHOW_ID, List.of("A5"));
+
+        verify(showRepository, times(2)).findById(SHOW_ID);
+    }
+
+    @Test
+    void chargedAmountMustMatchTheQuote() {
+        PriceQuote quote = new PriceQuote(SHOW_ID, BigDecimal.ONE, new BigDecimal("350.00"), List.of());
+
+        assertDoesNotThrow(() -> PricingEngine.checkCharged(quote, 350));
+        assertDoesNotThrow(() -> PricingEngine.checkCharged(quote, "350.0"));
+        assertThrows(PriceMismatchException.class, () -> PricingEngine.checkCharged(quote, 300));
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.checkCharged(quote, null));
+    }
+
+    /**
+     * Ten seats A1..A10 at a base price of 100, with A1 and A2 on a 250 VIP tier and
+     * the last {@code booked} seats already sold.
+     */
+    private ShowSeatInventory stubShow(int booked) {
+        Show show = new Show();
+        show.setShowId(SHOW_ID);
+        show.setBasePrice(new BigDecimal("100"));
+        show.setPricingTiers(Map.of("vipPrice", new BigDecimal("250")));
+
+        List<Seat> seats = new ArrayList<>();
+        for (int number = 1; number <= 10; number++) {
+            Seat seat = new Seat();
+            seat.setSeatId((long) number);
+            seat.setShowId(SHOW_ID);
+            seat.setRowLabel("A");
+            seat.setSeatNumber(number);
+            seat.setSeatType(number <= 2 ? Seat.SeatType.VIP : Seat.SeatType.REGULAR);
+            seat.setPrice(show.getBasePrice());
+            seat.setIsAvailable(number <= 10 - booked);
+            seats.add(seat);
+        }
+        ShowSeatInventory inventory = ShowSeatInventory.fromSeats(SHOW_ID, seats);
+
+        when(showRepository.findById(SHOW_ID)).thenReturn(Optional.of(show));
+        when(seatInventoryService.getInventory(SHOW_ID)).thenReturn(inventory);
+        return inventory;
+    }
+}
@@ -0,0 +1,153 @@
+package com.revature.bookingservice.service;
+
+import com.revature.bookingservice.entity.Seat;
+import com.revature.bookingservice.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShowSeatInventoryTest {
+
+    @Test
+    void resolvesLabelsSortedAndWithoutDuplicates() {
+        ShowSeatInventory inventory = inventory(2, 5, Set.of(), Set.of());
+
+        int[] positions = inventory.resolve(List.of("B2", " A1", "A1"));
+
+        assertEquals(List.of("A1", "B2"), inventory.labels(positions));
+    }
+
+    @Test
+    void rejectsUnknownLabels() {
+        ShowSeatInventory inventory = inventory(2, 5, Set.of(), Set.of());
+
+        for (String label : List.of("C1", "A6", "A0", "12", "A", "A99999999999")) {
+            assertThrows(ResourceNotFoundException.class, () -> inventory.resolve(List.of(label)), label);
+        }
+    }
+
+    @Test
+    void claimsAllSeatsOrNone() {
+        ShowSeatInventory inventory = inventory(1, 5, Set.of(), Set.of());
+        assertTrue(inventory.tryClaim(inventory.resolve(List.of("A1", "A2"))));
+
+        assertFalse(inventory.tryClaim(inventory.resolve(List.of("A2", "A3"))));
+
+        assertFalse(inventory.isTaken(inventory.resolve(List.of("A3"))[0]));
+        assertEquals(3, inventory.availableCount());
+        assertEquals(5, inventory.seatCount());
+    }
+
+    @Test
+    void releaseKeepsSeatsTheDatabaseReportsBooked() {
+        ShowSeatInventory inventory = inventory(1, 5, Set.of("A1"), Set.of());
+        int[] booked = inventory.resolve(List.of("A1"));
+        int[] held = inventory.resolve(List.of("A2"));
+        int[] claimed = inventory.resolve(List.of("A3"));
+        assertTrue(inventory.isTaken(booked[0]));
+        assertTrue(inventory.tryClaim(held));
+        assertTrue(inventory.tryClaim(claimed));
+        inventory.markPersisted(claimed);
+
+        inventory.release(booked);
+        inventory.release(held);
+        inventory.release(claimed);
+
+        assertTrue(inventory.isTaken(booked[0]));
+        assertFalse(inventory.isTaken(held[0]));
+        assertTrue(inventory.isTaken(claimed[0]));
+    }
+
+    @Test
+    void bestBlockPrefersTheViewingRowAndItsCentre() {
+        ShowSeatInventory inventory = inventory(5, 10, Set.of(), Set.of());
+
+        assertEquals(List.of("D5", "D6"), inventory.labels(inventory.findBestBlock(2, null)));
+
+        inventory.tryClaim(inventory.resolve(List.of("D5")));
+        assertEquals(List.of("D6", "D7"), inventory.labels(inventory.findBestBlock(2, null)));
+    }
+
+    @Test
+    void bestBlockCanBeLimitedToASeatType() {
+        ShowSeatInventory inventory = inventory(5, 10, Set.of(), Set.of("A"));
+
+        assertEquals(List.of("A5", "A6"), inventory.labels(inventory.findBestBlock(2, Seat.SeatType.VIP)));
+        assertEquals(Seat.SeatType.VIP, inventory.seatType(inventory.resolve(List.of("A1"))[0]));
+        assertNull(inventory.findBestBlock(11, null));
+        assertNull(inventory.findBestBlock(0, null));
+    }
+
+    @Test
+    void bestBlockSearchesRowsWiderThanOneWord() {
+        ShowSeatInventory inventory = inventory(1, 100, Set.of(), Set.of());
+
+        int[] block = inventory.findBestBlock(4, null);
+
+        assertEquals(List.of("A49", "A50", "A51", "A52"), inventory.labels(block));
+    }
+
+    @Test
+    void snapshotKeepsLayoutAndDatabaseStateButNotHolds() {
+        ShowSeatInventory inventory = inventory(3, 70, Set.of("B7"), Set.of("C"));
+        int[] held = inventory.resolve(List.of("A1"));
+        inventory.tryClaim(held);
+        ByteBuffer buffer = ByteBuffer.allocate(inventory.snapshotBytes());
+
+        inventory.writeSnapshot(buffer);
+        buffer.flip();
+        ShowSeatInventory restored = ShowSeatInventory.readSnapshot(1L, buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(inventory.seatCount(), restored.seatCount());
+        assertArrayEquals(inventory.positions(), restored.positions());
+        assertEquals(inventory.seatIds(inventory.positions()), restored.seatIds(restored.positions()));
+        assertTrue(restored.isTaken(restored.resolve(List.of("B7"))[0]));
+        assertFalse(restored.isTaken(held[0]));
+        assertEquals(Seat.SeatType.VIP, restored.seatType(restored.resolve(List.of("C70"))[0]));
+    }
+
+    @Test
+    void positionsBySeatIdMatchesResolve() {
+        ShowSeatInventory inventory = inventory(2, 5, Set.of(), Set.of());
+        int[] positions = inventory.resolve(List.of("B3"));
+
+        Long seatId = inventory.seatIds(positions).get(0);
+
+        assertEquals(positions[0], inventory.positionsBySeatId().get(seatId));
+    }
+
+    /**
+     * Rows A, B, ... of {@code seatsPerRow} seats with ids 1, 2, ... in label order.
+     */
+    private static ShowSeatInventory inventory(int rows, int seatsPerRow, Set<String> booked, Set<String> vipRows) {
+        List<Seat> seats = new ArrayList<>();
+        long seatId = 1;
+        for (int row = 0; row < rows; row++) {
+            String rowLabel = String.valueOf((char) ('A' + row));
+            for (int number = 1; number <= seatsPerRow; number++) {
+                Seat seat = new Seat();
+                seat.setSeatId(seatId++);
+                seat.setShowId(1L);
+                seat.setRowLabel(rowLabel);
+                seat.setSeatNumber(number);
+                seat.setSeatType(vipRows.contains(rowLabel) ? Seat.SeatType.VIP : Seat.SeatType.REGULAR);
+                seat.setPrice(BigDecimal.TEN);
+                seat.setIsAvailable(!booked.contains(rowLabel + number));
+                seats.add(seat);
+            }
+        }
+        return ShowSeatInventory.fromSeats(1L, seats);
+    }
+}
@@ -0,0 +1,57 @@
+package com.revature.bookingservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingReferenceGeneratorTest {
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingReferenceGenerator(BookingReferenceGenerator.MAX_NODE_ID + 1));
+
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(-1);
+        assertThrows(IllegalArgumentException.class, () -> generator.assignNodeId(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.assignNodeId(BookingReferenceGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void refusesToGenerateWithoutANodeId() {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(-1);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+
+        generator.assignNodeId(7);
+        assertEquals(7, generator.getNodeId());
+        generator.nextId();
+    }
+
+    @Test
+    void idsIncreaseAndCarryTheNodeId() {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(513);
+        long previous = -1;
+        // More than one millisecond's worth of sequence numbers
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(513, (id >>> 12) & BookingReferenceGenerator.MAX_NODE_ID);
+            previous = id;
+        }
+    }
+
+    @Test
+    void referencesAreUniqueCrockfordBase32() {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(1);
+        Set<String> references = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String reference = generator.nextReference();
+            assertTrue(reference.matches("BK[0-9A-HJKMNP-TV-Z]{1,13}"), reference);
+            assertTrue(references.add(reference), reference);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.revature.bookingservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void rejectsOnceTheLimitIsInFlight() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(3, 1, 10, 1000);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(3, limiter.getInFlight());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(-1);
+        assertEquals(2, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void clampsTheInitialLimit() {
+        assertEquals(10, new GradientConcurrencyLimiter(50, 1, 10, 1000).getLimit());
+        assertEquals(4, new GradientConcurrencyLimiter(1, 4, 10, 1000).getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileUnderused() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100, 0);
+
+        for (int i = 0; i < 5; i++) {
+            window(limiter, MILLIS);
+        }
+
+        assertEquals(20, limiter.getLimit());
+        assertEquals(1.0, limiter.getBaselineRttMillis(), 0.001);
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAboveTheBaseline() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 2, 100, 0);
+        window(limiter, MILLIS);
+
+        for (int i = 0; i < 5; i++) {
+            window(limiter, 10 * MILLIS);
+        }
+
+        assertTrue(limiter.getLimit() < 20, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+        assertEquals(10.0, limiter.getRecentRttMillis(), 0.001);
+    }
+
+    @Test
+    void ignoresNegativeSamples() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100, 0);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(-1);
+        }
+
+        assertEquals(0.0, limiter.getBaselineRttMillis());
+        assertEquals(20, limiter.getLimit());
+    }
+
+    // With a zero-length window every tenth sample closes one
+    private static void window(GradientConcurrencyLimiter limiter, long rttNanos) {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.revature.bookingservice.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupCommitJournalTest {
+
+    private static final long SEGMENT_BYTES = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void assignsSequenceNumbersInAppendOrder() throws IOException {
+        try (GroupCommitJournal journal = open(SEGMENT_BYTES)) {
+            List<CompletableFuture<Long>> appends = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                appends.add(journal.append(bytes("record " + i)));
+            }
+
+            for (int i = 0; i < appends.size(); i++) {
+                assertEquals(i + 1, appends.get(i).join());
+            }
+            assertEquals(100, journal.getRecordCount());
+            assertTrue(journal.getFsyncCount() <= 100);
+        }
+    }
+
+    @Test
+    void replaysRecordsFromAPreviousRunAndContinuesTheSequence() throws IOException {
+        try (GroupCommitJournal journal = open(SEGMENT_BYTES)) {
+            for (String payload : List.of("a", "b", "c")) {
+                journal.append(bytes(payload)).join();
+            }
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (GroupCommitJournal journal = new GroupCommitJournal(directory, SEGMENT_BYTES, 64)) {
+            journal.replay((seq, payload) -> replayed.add(seq + ":" + new String(payload, StandardCharsets.UTF_8)));
+            journal.start();
+
+            assertEquals(List.of("1:a", "2:b", "3:c"), replayed);
+            assertEquals(4, journal.append(bytes("d")).join());
+        }
+    }
+
+    @Test
+    void replayDropsATornTail() throws IOException {
+        try (GroupCommitJournal journal = open(SEGMENT_BYTES)) {
+            journal.append(bytes("a")).join();
+            journal.append(bytes("b")).join();
+        }
+        Path segment = segments().get(0);
+        long goodSize = Files.size(segment);
+        Files.write(segment, new byte[] { 0, 0, 0, 9, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        List<Long> replayed = new ArrayList<>();
+        try (GroupCommitJournal journal = new GroupCommitJournal(directory, SEGMENT_BYTES, 64)) {
+            journal.replay((seq, payload) -> replayed.add(seq));
+        }
+
+        assertEquals(List.of(1L, 2L), replayed);
+        assertEquals(goodSize, Files.size(segment));
+    }
+
+    @Test
+    void deletesSegmentsOnceEveryRecordIsApplied() throws IOException {
+        // Every group starts a new segment
+        try (GroupCommitJournal journal = open(1)) {
+            for (String payload : List.of("a", "b", "c")) {
+                journal.append(bytes(payload)).join();
+            }
+            assertEquals(3, journal.getSegmentCount());
+
+            journal.markApplied(2);
+            journal.markApplied(1);
+
+            assertEquals(1, journal.getSegmentCount());
+            assertEquals(1, segments().size());
+        }
+    }
+
+    @Test
+    void refusesAppendsAfterClose() throws IOException {
+        GroupCommitJournal journal = open(SEGMENT_BYTES);
+        journal.close();
+
+        CompletionException error = assertThrows(CompletionException.class, () -> journal.append(bytes("late")).join());
+        assertTrue(error.getCause() instanceof IllegalStateException);
+    }
+
+    private GroupCommitJournal open(long segmentBytes) throws IOException {
+        GroupCommitJournal journal = new GroupCommitJournal(directory, segmentBytes, 64);
+        journal.replay((seq, payload) -> { });
+        journal.start();
+        return journal;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
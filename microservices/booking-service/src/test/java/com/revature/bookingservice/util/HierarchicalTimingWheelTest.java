@@ -0,0 +1,65 @@
+package com.revature.bookingservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void refusesItemsThatAreAlreadyDue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1000);
+
+        assertFalse(wheel.schedule("due", 1005));
+        assertTrue(wheel.schedule("later", 1010));
+    }
+
+    @Test
+    void firesOnTheTickItFallsDueAndNotBefore() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 1050);
+
+        wheel.advanceTo(1040, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceTo(1050, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advanceTo(2000, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    void cascadesItemsBeyondTheFirstLevel() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+        assertTrue(wheel.schedule("far", 1500));
+
+        wheel.advanceTo(1490, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceTo(1500, expired::add);
+        assertEquals(List.of("far"), expired);
+    }
+
+    @Test
+    void firesEveryItemOfATickInOneAdvance() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        List<Integer> expired = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, i * 10L);
+        }
+
+        wheel.advanceTo(500, expired::add);
+        assertEquals(50, expired.size());
+
+        wheel.advanceTo(1000, expired::add);
+        assertEquals(100, expired.size());
+    }
+}
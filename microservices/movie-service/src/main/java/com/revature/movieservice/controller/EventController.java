@@ -8,11 +8,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private EventService eventService;
 
@@ -36,6 +39,19 @@ public class EventController {
         }
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<Long, Event>>> getEventsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, "At most " + MAX_BATCH_SIZE + " ids per request", null));
+        }
+        try {
+            Map<Long, Event> events = eventService.getEventsByIds(ids);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Events retrieved successfully", events));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/upcoming")
     public ResponseEntity<ApiResponse<List<Event>>> getUpcomingEvents() {
         try {
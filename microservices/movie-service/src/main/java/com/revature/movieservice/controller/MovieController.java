@@ -10,11 +10,14 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/movies")
 public class MovieController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private MovieService movieService;
     
@@ -33,6 +36,15 @@ public class MovieController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Movie retrieved successfully", movie));
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<Long, Movie>>> getMoviesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, "At most " + MAX_BATCH_SIZE + " ids per request", null));
+        }
+        Map<Long, Movie> movies = movieService.getMoviesByIds(ids);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Movies retrieved successfully", movies));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<Movie>>> searchMovies(@RequestParam String title) {
         List<Movie> movies = movieService.searchMovies(title);
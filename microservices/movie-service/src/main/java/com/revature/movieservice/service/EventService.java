@@ -6,7 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class EventService {
@@ -27,6 +30,11 @@ public class EventService {
             .orElseThrow(() -> new RuntimeException("Event not found"));
     }
 
+    public Map<Long, Event> getEventsByIds(Collection<Long> ids) {
+        return eventRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Event::getEventId, event -> event));
+    }
+
     public List<Event> getUpcomingEvents() {
         return eventRepository.findByEventDateGreaterThanEqualAndIsActiveTrue(LocalDate.now());
     }
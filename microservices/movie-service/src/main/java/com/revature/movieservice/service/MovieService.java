@@ -6,7 +6,10 @@ import com.revature.movieservice.repository.MovieRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class MovieService {
@@ -27,6 +30,11 @@ public class MovieService {
             .orElseThrow(() -> new ResourceNotFoundException("Movie not found with id: " + id));
     }
 
+    public Map<Long, Movie> getMoviesByIds(Collection<Long> ids) {
+        return movieRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Movie::getMovieId, movie -> movie));
+    }
+
     public List<Movie> searchMovies(String title) {
         return movieRepository.findByTitleContainingIgnoreCaseAndIsActiveTrue(title);
     }
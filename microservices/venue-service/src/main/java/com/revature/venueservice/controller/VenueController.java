@@ -12,12 +12,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/venues")
 public class VenueController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private VenueService venueService;
     
@@ -44,6 +47,42 @@ public class VenueController {
         }
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<Long, Venue>>> getVenuesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, "At most " + MAX_BATCH_SIZE + " ids per request", null));
+        }
+        try {
+            Map<Long, Venue> venues = venueService.getVenuesByIds(ids);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Venues retrieved successfully", venues));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/screens/{id}")
+    public ResponseEntity<ApiResponse<Screen>> getScreenById(@PathVariable Long id) {
+        try {
+            Screen screen = screenService.getScreenById(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Screen retrieved successfully", screen));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/screens/batch")
+    public ResponseEntity<ApiResponse<Map<Long, Screen>>> getScreensByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, "At most " + MAX_BATCH_SIZE + " ids per request", null));
+        }
+        try {
+            Map<Long, Screen> screens = screenService.getScreensByIds(ids);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Screens retrieved successfully", screens));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/city/{city}")
     public ResponseEntity<ApiResponse<List<Venue>>> getVenuesByCity(@PathVariable String city) {
         try {
@@ -6,7 +6,9 @@ import com.revature.venueservice.repository.ScreenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +21,16 @@ public class ScreenService {
         return screenRepository.findByVenueIdAndIsActiveTrue(venueId);
     }
 
+    public Screen getScreenById(Long id) {
+        return screenRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Screen not found"));
+    }
+
+    public Map<Long, Screen> getScreensByIds(Collection<Long> ids) {
+        return screenRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Screen::getScreenId, screen -> screen));
+    }
+
     public List<ScreenDTO> convertToScreenDTOs(List<Screen> screens) {
         return screens.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
@@ -8,7 +8,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class VenueService {
@@ -32,6 +35,11 @@ public class VenueService {
             .orElseThrow(() -> new RuntimeException("Venue not found"));
     }
 
+    public Map<Long, Venue> getVenuesByIds(Collection<Long> ids) {
+        return venueRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Venue::getVenueId, venue -> venue));
+    }
+
     public List<Venue> getVenuesByCity(String city) {
         return venueRepository.findByCityAndIsActiveTrue(city);
     }